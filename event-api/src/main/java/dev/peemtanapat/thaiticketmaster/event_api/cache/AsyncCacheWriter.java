@@ -0,0 +1,91 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fire-and-forget cache writes over Lettuce's async API
+ * Commands go out on the one shared, multiplexed connection, which pipelines
+ * them with whatever other threads are sending, and the caller moves on
+ * without waiting for replies. Commands on one connection run in order, so a
+ * read or broadcast sent after a batch always sees it. Failures are logged
+ * and reported back to NearCache, which treats them like a failed sync write.
+ */
+@Component
+@ConditionalOnProperty(name = "event-api.cache.async-writes", havingValue = "true")
+public class AsyncCacheWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(AsyncCacheWriter.class);
+
+  private final RedisConnectionFactory connectionFactory;
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  public AsyncCacheWriter(RedisConnectionFactory connectionFactory, RedisTemplate<String, Object> redisTemplate) {
+    // Without a shared connection each batch would get its own connection,
+    // closed while its commands are still in flight
+    if (!(connectionFactory instanceof LettuceConnectionFactory lettuce) || !lettuce.getShareNativeConnection()) {
+      throw new IllegalStateException(
+          "event-api.cache.async-writes needs spring.data.redis.client-type=lettuce with a shared connection");
+    }
+    this.connectionFactory = connectionFactory;
+    this.redisTemplate = redisTemplate;
+  }
+
+  /**
+   * Queue a batch of writes without waiting for Redis to apply them
+   * onFailure runs, on a Lettuce thread, if any of them fails
+   */
+  @SuppressWarnings("unchecked")
+  void write(List<CacheWriteBatch.Write> writes, Runnable onFailure) {
+    RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+    List<CompletableFuture<?>> replies = new ArrayList<>(writes.size());
+    // Closing the connection leaves the shared native connection open
+    try (RedisConnection connection = connectionFactory.getConnection()) {
+      RedisClusterAsyncCommands<byte[], byte[]> commands =
+          (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+      for (CacheWriteBatch.Write write : writes) {
+        byte[] key = bytes(write.key());
+        RedisFuture<?> reply = switch (write) {
+          case CacheWriteBatch.Put put -> commands.set(key, valueSerializer.serialize(put.value()),
+              put.ifAbsent() ? SetArgs.Builder.px(put.ttlMillis()).nx() : SetArgs.Builder.px(put.ttlMillis()));
+          case CacheWriteBatch.Unlink unlink -> commands.unlink(key);
+          case CacheWriteBatch.IndexAdd add -> commands.eval(NearCache.ADD_TO_INDEX_SCRIPT.getScriptAsString(),
+              ScriptOutputType.INTEGER, new byte[][] { key },
+              bytes(Double.toString(add.score())), bytes(add.id().toString()),
+              bytes(Long.toString(add.ttl().toSeconds())));
+          case CacheWriteBatch.IndexRemove remove -> commands.zrem(key, bytes(remove.id().toString()));
+          case CacheWriteBatch.VersionBump bump -> commands.eval(NearCache.BUMP_VERSION_SCRIPT.getScriptAsString(),
+              ScriptOutputType.INTEGER, new byte[][] { key }, bytes(Long.toString(System.currentTimeMillis())));
+        };
+        replies.add(reply.toCompletableFuture());
+      }
+    }
+
+    CompletableFuture.allOf(replies.toArray(CompletableFuture[]::new)).whenComplete((ignored, failure) -> {
+      if (failure != null) {
+        log.warn("Async cache write failed for a batch of {} commands", writes.size(), failure);
+        onFailure.run();
+      }
+    });
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,126 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for cache traffic, tagged by key family
+ * A family is the key with its variable part dropped (event:42 -> event,
+ * events:category:3:ids -> events:category), so tag cardinality stays fixed
+ * however many events there are. Names stay clear of the cache.gets family
+ * Micrometer binds for Spring and Caffeine caches, whose tags differ.
+ */
+@Component
+public class CacheMetrics {
+
+  public static final String TIER_LOCAL = "local";
+  public static final String TIER_REDIS = "redis";
+  public static final String TIER_RESPONSE = "response";
+
+  private static final String OTHER_FAMILY = "other";
+
+  private final MeterRegistry meterRegistry;
+  // Counters are looked up on every cache read, so skip the builder after the first
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+  public CacheMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Key family used as the metric tag
+   */
+  public static String family(String key) {
+    if (key.startsWith("event:")) {
+      return "event";
+    }
+    if (key.startsWith("events:")) {
+      // events:{list}[:{param}][:ids]
+      int end = key.indexOf(':', "events:".length());
+      return end < 0 ? key : key.substring(0, end);
+    }
+    if (key.equals("categories")) {
+      return key;
+    }
+    return OTHER_FAMILY;
+  }
+
+  /**
+   * Report the number of entries in the in-process L1
+   */
+  public void gaugeLocalSize(Cache<String, Object> local) {
+    Gauge.builder("cache.local.size", local, Cache::estimatedSize)
+        .description("Approximate number of entries in the in-process L1")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Count a lookup against one tier
+   */
+  public void recordGet(String key, String tier, boolean hit) {
+    String family = family(key);
+    String result = hit ? "hit" : "miss";
+    counter("cache.requests", family, tier, result, () -> Counter.builder("cache.requests")
+        .description("Cache lookups by key family, tier and result")
+        .tag("family", family)
+        .tag("tier", tier)
+        .tag("result", result)
+        .register(meterRegistry))
+        .increment();
+  }
+
+  /**
+   * Count an entry leaving a tier; cause is why (explicit, size, expired)
+   */
+  public void recordEviction(String key, String tier, String cause) {
+    String family = family(key);
+    counter("cache.entries.evicted", family, tier, cause, () -> Counter.builder("cache.entries.evicted")
+        .description("Entries removed from the cache by key family, tier and cause")
+        .tag("family", family)
+        .tag("tier", tier)
+        .tag("cause", cause)
+        .register(meterRegistry))
+        .increment();
+  }
+
+  /**
+   * Count an L1 removal reported by Caffeine; replacements are plain writes
+   */
+  public void recordLocalRemoval(String key, RemovalCause cause) {
+    if (key != null && cause != RemovalCause.REPLACED) {
+      recordEviction(key, TIER_LOCAL, cause.name().toLowerCase());
+    }
+  }
+
+  /**
+   * Time a loader run on a cache miss or refresh, i.e. the cost of a miss
+   */
+  public <T> T timeLoad(String key, Supplier<T> loader) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String result = "failure";
+    try {
+      T value = loader.get();
+      result = "success";
+      return value;
+    } finally {
+      sample.stop(Timer.builder("cache.loader.time")
+          .description("Time spent loading a cache entry from its source")
+          .tag("family", family(key))
+          .tag("result", result)
+          .register(meterRegistry));
+    }
+  }
+
+  private Counter counter(String name, String family, String tier, String outcome, Supplier<Counter> register) {
+    return counters.computeIfAbsent(name + '|' + family + '|' + tier + '|' + outcome, ignored -> register.get());
+  }
+}
@@ -0,0 +1,16 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+/**
+ * Redis could not be used for a cache call: the circuit breaker is open, or
+ * the call failed or timed out. Callers fall back to L1 or the DB.
+ */
+public class CacheUnavailableException extends RuntimeException {
+
+  public CacheUnavailableException(String message) {
+    super(message);
+  }
+
+  public CacheUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,83 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache writes collected for one transaction, sent to Redis in order in a
+ * single pipeline; see NearCache.afterCommit
+ */
+public class CacheWriteBatch {
+
+  sealed interface Write permits Put, Unlink, IndexAdd, IndexRemove, VersionBump {
+    String key();
+  }
+
+  // ifAbsent for fills, which must not replace a value written meanwhile
+  record Put(String key, Object value, long ttlMillis, boolean ifAbsent) implements Write {
+  }
+
+  record Unlink(String key) implements Write {
+  }
+
+  record IndexAdd(String key, Long id, double score, Duration ttl) implements Write {
+  }
+
+  record IndexRemove(String key, Long id) implements Write {
+  }
+
+  record VersionBump(String key) implements Write {
+  }
+
+  private final List<Write> writes = new ArrayList<>();
+
+  /**
+   * Write a value; same as NearCache.put
+   */
+  public void put(String key, Object value, long timeout, TimeUnit unit) {
+    writes.add(new Put(key, value, unit.toMillis(timeout), false));
+  }
+
+  /**
+   * Write a value only if the key is absent; same as NearCache.fill
+   */
+  void fill(String key, Object value, long timeout, TimeUnit unit) {
+    writes.add(new Put(key, value, unit.toMillis(timeout), true));
+  }
+
+  /**
+   * Remove keys with UNLINK, so large values are freed off Redis' main thread
+   */
+  public void evict(String... keys) {
+    for (String key : keys) {
+      writes.add(new Unlink(key));
+    }
+  }
+
+  /**
+   * Add or re-score one index member; same as NearCache.addToIndex
+   */
+  public void addToIndex(String key, Long id, double score, Duration ttl) {
+    writes.add(new IndexAdd(key, id, score, ttl));
+  }
+
+  /**
+   * Remove one index member; same as NearCache.removeFromIndex
+   */
+  public void removeFromIndex(String key, Long id) {
+    writes.add(new IndexRemove(key, id));
+  }
+
+  /**
+   * Move a version counter past its current value; see NearCache.getVersion
+   */
+  public void bumpVersion(String key) {
+    writes.add(new VersionBump(key));
+  }
+
+  List<Write> writes() {
+    return writes;
+  }
+}
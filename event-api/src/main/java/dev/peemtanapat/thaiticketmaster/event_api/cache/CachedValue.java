@@ -0,0 +1,62 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cache entry with refresh metadata
+ * The Redis TTL is the hard expiry; softExpiresAt marks when the value should
+ * be rebuilt in the background while readers keep getting the stale value.
+ */
+public class CachedValue implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private Object value;
+  private long softExpiresAt; // epoch millis
+  private long loadMillis; // how long the last rebuild took
+
+  public CachedValue() {
+  }
+
+  public CachedValue(Object value, long softExpiresAt, long loadMillis) {
+    this.value = value;
+    this.softExpiresAt = softExpiresAt;
+    this.loadMillis = loadMillis;
+  }
+
+  /**
+   * XFetch probabilistic early expiration: each read refreshes early with a
+   * probability that grows as the soft expiry nears, scaled by the rebuild
+   * cost, so one reader refreshes before the entry actually goes stale
+   */
+  public boolean shouldRefresh(long nowMillis, double beta) {
+    double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+    double earlyMillis = -loadMillis * beta * Math.log(random);
+    return nowMillis + earlyMillis >= softExpiresAt;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  public void setValue(Object value) {
+    this.value = value;
+  }
+
+  public long getSoftExpiresAt() {
+    return softExpiresAt;
+  }
+
+  public void setSoftExpiresAt(long softExpiresAt) {
+    this.softExpiresAt = softExpiresAt;
+  }
+
+  public long getLoadMillis() {
+    return loadMillis;
+  }
+
+  public void setLoadMillis(long loadMillis) {
+    this.loadMillis = loadMillis;
+  }
+}
@@ -0,0 +1,93 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable copy of a sorted-set ID index, ordered by score ascending
+ * Held in L1 so list reads can be served without a Redis round trip
+ */
+public final class IndexSnapshot {
+
+  private static final IndexSnapshot EMPTY = new IndexSnapshot(new long[0], new double[0]);
+
+  private final long[] ids;
+  private final double[] scores;
+
+  private IndexSnapshot(long[] ids, double[] scores) {
+    this.ids = ids;
+    this.scores = scores;
+  }
+
+  public static IndexSnapshot of(Collection<TypedTuple<String>> tuples) {
+    if (tuples == null || tuples.isEmpty()) {
+      return EMPTY;
+    }
+    long[] ids = new long[tuples.size()];
+    double[] scores = new double[tuples.size()];
+    int i = 0;
+    for (TypedTuple<String> tuple : tuples) {
+      ids[i] = Long.parseLong(tuple.getValue());
+      scores[i] = tuple.getScore() != null ? tuple.getScore() : 0;
+      i++;
+    }
+    return new IndexSnapshot(ids, scores);
+  }
+
+  public List<Long> ids() {
+    return toList(ids.length);
+  }
+
+  /**
+   * IDs whose score is less than or equal to maxScore
+   */
+  public List<Long> idsUpTo(double maxScore) {
+    // Scores are sorted, so find the first one past maxScore
+    int low = 0;
+    int high = scores.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (scores[mid] <= maxScore) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return toList(low);
+  }
+
+  /**
+   * Up to limit IDs whose score is greater than afterScore, for keyset paging
+   */
+  public List<Long> idsAfter(double afterScore, int limit) {
+    // Scores are sorted, so find the first one past afterScore
+    int low = 0;
+    int high = scores.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (scores[mid] <= afterScore) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    int end = (int) Math.min(ids.length, (long) low + limit);
+    List<Long> result = new ArrayList<>(end - low);
+    Arrays.stream(ids, low, end).forEach(result::add);
+    return result;
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  private List<Long> toList(int length) {
+    List<Long> result = new ArrayList<>(length);
+    Arrays.stream(ids, 0, length).forEach(result::add);
+    return result;
+  }
+}
@@ -0,0 +1,16 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.io.Serializable;
+
+/**
+ * Negative cache entry, stored in place of a value known not to exist
+ * Written with a short TTL so lookups for unknown keys skip the DB
+ */
+// Any class annotation lets Jackson write this property-less type as {}
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MissingValue implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+}
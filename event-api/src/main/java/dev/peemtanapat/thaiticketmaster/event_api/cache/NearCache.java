@@ -0,0 +1,775 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Two-level cache: bounded in-process L1 (Caffeine, W-TinyLFU eviction) in
+ * front of the shared Redis L2.
+ * Changes go to Redis first, then an invalidation is broadcast over Redis
+ * pub/sub so every other instance drops its local copy. Fills, values just
+ * loaded from the DB, are not broadcast: other instances can only hold the
+ * same values.
+ * Misses are coalesced per key so only one loader per JVM (and, with the
+ * lease enabled, per cluster) hits the database.
+ * Entries read through getOrRefresh carry a soft TTL and are rebuilt in the
+ * background, so readers keep getting the stale value instead of waiting.
+ * Sorted-set ID indexes are read whole into an L1 IndexSnapshot and patched
+ * member by member on writes.
+ * Writes made for a DB transaction are queued with afterCommit and sent in
+ * one pipeline once it commits, so Redis latency never holds DB locks and a
+ * rollback never reaches the cache. With async writes on, batches are queued
+ * on the shared Lettuce connection and the caller does not wait for Redis.
+ * Lookups, loads and evictions are counted per key family; see CacheMetrics.
+ * Every Redis call goes through RedisCircuitBreaker. While Redis is slow or
+ * down, reads fall through to L1 and the loader (the DB), and writes only
+ * reach L1. Keys whose changes could not be written are remembered and
+ * evicted from Redis once it is back, so it never serves them stale.
+ */
+@Component
+public class NearCache implements MessageListener {
+
+  private static final Logger log = LoggerFactory.getLogger(NearCache.class);
+
+  public static final String INVALIDATION_CHANNEL = "cache:invalidate";
+  private static final String MESSAGE_SEPARATOR = "\n";
+  // Beyond this, lost writes are only logged and left to expire
+  private static final int MAX_LOST_WRITES = 10_000;
+
+  // Patching an index that was never built must not leave a key without a TTL
+  static final RedisScript<Long> ADD_TO_INDEX_SCRIPT = new DefaultRedisScript<>(
+      "redis.call('zadd', KEYS[1], ARGV[1], ARGV[2]) "
+          + "if redis.call('ttl', KEYS[1]) == -1 then redis.call('expire', KEYS[1], ARGV[3]) end "
+          + "return 1",
+      Long.class);
+
+  // Version counters start at, and never fall behind, the current time in
+  // millis, so a counter lost from Redis never repeats an earlier value
+  static final RedisScript<Long> READ_VERSION_SCRIPT = new DefaultRedisScript<>(
+      "local v = redis.call('get', KEYS[1]) "
+          + "if not v then v = ARGV[1] redis.call('set', KEYS[1], v) end "
+          + "return tonumber(v)",
+      Long.class);
+  static final RedisScript<Long> BUMP_VERSION_SCRIPT = new DefaultRedisScript<>(
+      "local v = math.max(tonumber(redis.call('get', KEYS[1]) or '0') + 1, tonumber(ARGV[1])) "
+          + "redis.call('set', KEYS[1], string.format('%d', v)) "
+          + "return v",
+      Long.class);
+
+  private final RedisTemplate<String, Object> redisTemplate;
+  private final StringRedisTemplate stringRedisTemplate;
+  private final RedisLease redisLease;
+  private final RedisCircuitBreaker breaker;
+  private final CacheMetrics cacheMetrics;
+  // Null unless async writes are on; see AsyncCacheWriter
+  private final AsyncCacheWriter asyncCacheWriter;
+  private final Cache<String, Object> local;
+  private final SingleFlight singleFlight = new SingleFlight();
+  private final ThreadPoolExecutor refreshExecutor;
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+  private final double refreshBeta;
+  private final String instanceId = UUID.randomUUID().toString();
+  private final List<Consumer<List<String>>> remoteInvalidationListeners = new CopyOnWriteArrayList<>();
+  private final List<Function<String, List<String>>> dependentKeys = new CopyOnWriteArrayList<>();
+  // Keys whose changes never reached Redis; evicted there once it is back
+  private final Set<String> lostWrites = ConcurrentHashMap.newKeySet();
+  private volatile boolean lostWritesOverflowed;
+
+  // Bumped on every local invalidation so a concurrent L2 read cannot put a
+  // value into L1 that was invalidated while the read was in flight
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public NearCache(RedisTemplate<String, Object> redisTemplate,
+      StringRedisTemplate stringRedisTemplate,
+      RedisLease redisLease,
+      RedisCircuitBreaker breaker,
+      CacheMetrics cacheMetrics,
+      Optional<AsyncCacheWriter> asyncCacheWriter,
+      @Value("${event-api.cache.near.maximum-size:10000}") long maximumSize,
+      @Value("${event-api.cache.near.expire-after-write:30s}") Duration expireAfterWrite,
+      @Value("${event-api.cache.refresh.beta:1.0}") double refreshBeta,
+      @Value("${event-api.cache.refresh.threads:2}") int refreshThreads) {
+    this.redisTemplate = redisTemplate;
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.redisLease = redisLease;
+    this.breaker = breaker;
+    this.cacheMetrics = cacheMetrics;
+    this.asyncCacheWriter = asyncCacheWriter.orElse(null);
+    this.local = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .<String, Object>removalListener((key, value, cause) -> cacheMetrics.recordLocalRemoval(key, cause))
+        .build();
+    cacheMetrics.gaugeLocalSize(local);
+    this.refreshBeta = refreshBeta;
+    // Refreshes are deduplicated per key, so a small queue is plenty; drop
+    // the rest and let the next read retry
+    this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(100), runnable -> {
+          Thread thread = new Thread(runnable, "cache-refresh");
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    breaker.addCloseListener(this::evictLostWrites);
+  }
+
+  /**
+   * Get a value, checking L1 first and falling back to Redis
+   * A Redis hit is copied into L1; Redis being unavailable reads as a miss
+   */
+  public Object get(String key) {
+    Object value = local.getIfPresent(key);
+    cacheMetrics.recordGet(key, CacheMetrics.TIER_LOCAL, value != null);
+    if (value != null) {
+      return value;
+    }
+
+    long generation = invalidations.get();
+    value = readRedis(() -> redisTemplate.opsForValue().get(key));
+    cacheMetrics.recordGet(key, CacheMetrics.TIER_REDIS, value != null);
+    if (value != null && generation == invalidations.get()) {
+      local.put(key, value);
+    }
+    return value;
+  }
+
+  /**
+   * Get several values at once: L1 first, then one MGET for the rest
+   * The result lines up with keys and holds null for misses
+   */
+  public List<Object> multiGet(List<String> keys) {
+    List<Object> values = new ArrayList<>(keys.size());
+    List<String> misses = new ArrayList<>();
+    List<Integer> missPositions = new ArrayList<>();
+    for (int i = 0; i < keys.size(); i++) {
+      Object value = local.getIfPresent(keys.get(i));
+      cacheMetrics.recordGet(keys.get(i), CacheMetrics.TIER_LOCAL, value != null);
+      values.add(value);
+      if (value == null) {
+        misses.add(keys.get(i));
+        missPositions.add(i);
+      }
+    }
+    if (misses.isEmpty()) {
+      return values;
+    }
+
+    long generation = invalidations.get();
+    List<Object> remote = readRedis(() -> redisTemplate.opsForValue().multiGet(misses));
+    if (remote == null) {
+      return values;
+    }
+    boolean cacheable = generation == invalidations.get();
+    for (int i = 0; i < misses.size(); i++) {
+      Object value = remote.get(i);
+      cacheMetrics.recordGet(misses.get(i), CacheMetrics.TIER_REDIS, value != null);
+      if (value != null) {
+        values.set(missPositions.get(i), value);
+        if (cacheable) {
+          local.put(misses.get(i), value);
+        }
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Get a value, or load and cache it on a miss
+   * Concurrent misses for the same key share one loader call
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getOrLoad(String key, long timeout, TimeUnit unit, Supplier<T> loader) {
+    Object cached = get(key);
+    if (cached != null) {
+      return (T) cached;
+    }
+
+    return singleFlight.execute(key, () -> {
+      // A flight that just finished may already have filled L1
+      Object value = local.getIfPresent(key);
+      if (value != null) {
+        return (T) value;
+      }
+      return redisLease.callExclusively(key, () -> (T) get(key), () -> {
+        T loaded = cacheMetrics.timeLoad(key, loader);
+        if (loaded != null) {
+          fill(key, loaded, timeout, unit);
+        }
+        return loaded;
+      });
+    });
+  }
+
+  /**
+   * Get a value with stale-while-revalidate semantics
+   * Past its soft TTL (or earlier, per XFetch) the entry is rebuilt in the
+   * background and the stale value is returned. Only a missing entry makes
+   * the caller wait for the loader. The hard TTL is the Redis expiry.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getOrRefresh(String key, Duration softTtl, Duration hardTtl, Supplier<T> loader) {
+    if (get(key) instanceof CachedValue entry) {
+      if (entry.shouldRefresh(System.currentTimeMillis(), refreshBeta)) {
+        refreshAsync(key, entry.getSoftExpiresAt(), softTtl, hardTtl, loader);
+      }
+      return (T) entry.getValue();
+    }
+
+    return singleFlight.execute(key, () -> {
+      if (local.getIfPresent(key) instanceof CachedValue entry) {
+        return (T) entry.getValue();
+      }
+      return redisLease.callExclusively(key,
+          () -> get(key) instanceof CachedValue entry ? (T) entry.getValue() : null,
+          () -> loadEntry(key, softTtl, hardTtl, loader));
+    });
+  }
+
+  /**
+   * Write a changed value to Redis and L1, and tell other instances to drop
+   * their copy
+   */
+  public void put(String key, Object value, long timeout, TimeUnit unit) {
+    put(key, value, timeout, unit, true);
+  }
+
+  /**
+   * Cache a value just loaded from the DB, in Redis and L1
+   * Written with SET NX, since a change committed after the DB read may
+   * already be in Redis; then L1 is left for the next read to fill. Other
+   * instances hold the same value or none, so nothing is broadcast
+   */
+  public void fill(String key, Object value, long timeout, TimeUnit unit) {
+    // Stays true if Redis is skipped, so the value is still served from L1
+    boolean[] stored = { true };
+    writeRedis(List.of(key), false, () -> stored[0] = !Boolean.FALSE.equals(
+        redisTemplate.opsForValue().setIfAbsent(key, value, timeout, unit)));
+    invalidateLocal(List.of(key));
+    if (stored[0]) {
+      local.put(key, value);
+    }
+  }
+
+  /**
+   * Write several changed values in one Redis pipeline, or without waiting
+   * when async writes are on, and broadcast them in one message
+   */
+  public void putAll(Map<String, ?> entries, long timeout, TimeUnit unit) {
+    write(batchOf(entries, timeout, unit), true);
+  }
+
+  /**
+   * Cache several values just loaded from the DB in one Redis pipeline,
+   * each with SET NX as in fill, without a broadcast
+   */
+  public void fillAll(Map<String, ?> entries, long timeout, TimeUnit unit) {
+    CacheWriteBatch batch = new CacheWriteBatch();
+    entries.forEach((key, value) -> batch.fill(key, value, timeout, unit));
+    write(batch, false);
+  }
+
+  /**
+   * Read a whole sorted-set ID index, from L1 when possible
+   * Throws CacheUnavailableException if it is not in L1 and Redis is
+   * unavailable, so the caller can read the list from the DB instead
+   */
+  public IndexSnapshot getIndex(String key) {
+    if (local.getIfPresent(key) instanceof IndexSnapshot snapshot) {
+      cacheMetrics.recordGet(key, CacheMetrics.TIER_LOCAL, true);
+      return snapshot;
+    }
+    cacheMetrics.recordGet(key, CacheMetrics.TIER_LOCAL, false);
+
+    long generation = invalidations.get();
+    IndexSnapshot snapshot = IndexSnapshot.of(
+        breaker.execute(() -> stringRedisTemplate.opsForZSet().rangeWithScores(key, 0, -1)));
+    // An index that does not exist reads as empty
+    cacheMetrics.recordGet(key, CacheMetrics.TIER_REDIS, snapshot.size() > 0);
+    if (generation == invalidations.get()) {
+      local.put(key, snapshot);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Read a version counter, from L1 when possible
+   * Bumped with CacheWriteBatch.bumpVersion; one that does not exist yet is
+   * started here. Returns null if it is not in L1 and Redis is unavailable
+   */
+  public Long getVersion(String key) {
+    if (local.getIfPresent(key) instanceof Long version) {
+      cacheMetrics.recordGet(key, CacheMetrics.TIER_LOCAL, true);
+      return version;
+    }
+    cacheMetrics.recordGet(key, CacheMetrics.TIER_LOCAL, false);
+
+    long generation = invalidations.get();
+    Long version = readRedis(() -> stringRedisTemplate.execute(READ_VERSION_SCRIPT, List.of(key),
+        Long.toString(System.currentTimeMillis())));
+    if (version == null) {
+      return null;
+    }
+    cacheMetrics.recordGet(key, CacheMetrics.TIER_REDIS, true);
+    if (generation == invalidations.get()) {
+      local.put(key, version);
+    }
+    return version;
+  }
+
+  /**
+   * Replace a sorted-set ID index with freshly loaded members
+   * The key is WATCHed while the loader runs, so if a concurrent write
+   * patches the index meanwhile the replace is dropped instead of losing that
+   * write. Returns the index size, or null when the replace was dropped.
+   * Throws CacheUnavailableException if Redis is unavailable.
+   */
+  public Integer rebuildIndex(String key, Supplier<Map<Long, Double>> loader, Duration ttl) {
+    // A loader failure is the DB's, so keep it away from the breaker
+    AtomicReference<RuntimeException> loaderFailure = new AtomicReference<>();
+    List<Object> results = breaker.execute(() -> stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+        RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+        ops.watch(key);
+        Map<Long, Double> members;
+        try {
+          members = loader.get();
+        } catch (RuntimeException e) {
+          loaderFailure.set(e);
+          ops.unwatch();
+          return null;
+        }
+        ops.multi();
+        ops.delete(key);
+        if (!members.isEmpty()) {
+          ops.opsForZSet().add(key, toTuples(members));
+        }
+        ops.expire(key, ttl);
+        List<Object> exec = ops.exec();
+        return exec == null || exec.isEmpty() ? null : List.of(members.size());
+      }
+    }), false);
+    if (loaderFailure.get() != null) {
+      throw loaderFailure.get();
+    }
+
+    invalidateLocal(List.of(key));
+    publish(List.of(key));
+    return results == null ? null : (Integer) results.get(0);
+  }
+
+  /**
+   * Add or re-score one member of a sorted-set ID index
+   * The TTL only applies if the index did not exist yet
+   */
+  public void addToIndex(String key, Long id, double score, Duration ttl) {
+    writeRedis(List.of(key), true, () -> stringRedisTemplate.execute(ADD_TO_INDEX_SCRIPT, List.of(key),
+        Double.toString(score), id.toString(), Long.toString(ttl.toSeconds())));
+    invalidateLocal(List.of(key));
+    publish(List.of(key));
+  }
+
+  /**
+   * Remove one member from a sorted-set ID index
+   */
+  public void removeFromIndex(String key, Long id) {
+    writeRedis(List.of(key), true, () -> stringRedisTemplate.opsForZSet().remove(key, id.toString()));
+    invalidateLocal(List.of(key));
+    publish(List.of(key));
+  }
+
+  /**
+   * Remove keys from Redis and from L1 on every instance
+   * Uses UNLINK, so large values are freed off Redis' main thread
+   */
+  public void evict(String... keys) {
+    List<String> keyList = Arrays.asList(keys);
+    writeRedis(keyList, true, () -> redisTemplate.unlink(keyList));
+    keyList.forEach(key -> cacheMetrics.recordEviction(key, CacheMetrics.TIER_REDIS, "explicit"));
+    invalidateLocal(keyList);
+    publish(keyList);
+  }
+
+  /**
+   * Queue cache writes to run once the current transaction commits
+   * Everything queued during one transaction is collected into one batch,
+   * sent in a single pipeline and announced in a single broadcast after
+   * commit; on rollback it is dropped. Outside a transaction it runs now.
+   * The callback itself runs after commit too, so it may also update other
+   * in-process state that must not see uncommitted writes.
+   */
+  public void afterCommit(Consumer<CacheWriteBatch> writes) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      CacheWriteBatch batch = new CacheWriteBatch();
+      writes.accept(batch);
+      write(batch, true);
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Consumer<CacheWriteBatch>> queued =
+        (List<Consumer<CacheWriteBatch>>) TransactionSynchronizationManager.getResource(this);
+    if (queued == null) {
+      List<Consumer<CacheWriteBatch>> pending = new ArrayList<>();
+      TransactionSynchronizationManager.bindResource(this, pending);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          flushAfterCommit(pending);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(NearCache.this);
+        }
+      });
+      queued = pending;
+    }
+    queued.add(writes);
+  }
+
+  /**
+   * Name keys that must be evicted along with a key whose change was lost
+   * while Redis was unavailable, e.g. the stamp of a list index
+   */
+  public void addDependentKeys(Function<String, List<String>> dependents) {
+    dependentKeys.add(dependents);
+  }
+
+  /**
+   * Be told about keys invalidated by other instances, all keys of one
+   * broadcast at once
+   * For in-process state kept outside L1 that follows the same broadcasts
+   */
+  public void addRemoteInvalidationListener(Consumer<List<String>> listener) {
+    remoteInvalidationListeners.add(listener);
+  }
+
+  /**
+   * Drop every L1 entry on this instance only
+   */
+  public void clearLocal() {
+    invalidations.incrementAndGet();
+    local.invalidateAll();
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(MESSAGE_SEPARATOR);
+    if (parts.length < 2 || instanceId.equals(parts[0])) {
+      return;
+    }
+    List<String> keys = Arrays.asList(parts).subList(1, parts.length);
+    invalidateLocal(keys);
+    for (Consumer<List<String>> listener : remoteInvalidationListeners) {
+      listener.accept(keys);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  private void put(String key, Object value, long timeout, TimeUnit unit, boolean change) {
+    writeRedis(List.of(key), change, () -> redisTemplate.opsForValue().set(key, value, timeout, unit));
+    invalidateLocal(List.of(key));
+    local.put(key, value);
+    if (change) {
+      publish(List.of(key));
+    }
+  }
+
+  /**
+   * Take the Redis entry into L1 if another replica already refreshed it
+   * Refreshes are fills and are not broadcast, so L1 is not told otherwise
+   */
+  private boolean adoptNewerEntry(String key, long staleSoftExpiresAt) {
+    long generation = invalidations.get();
+    if (readRedis(() -> redisTemplate.opsForValue().get(key)) instanceof CachedValue current
+        && current.getSoftExpiresAt() > staleSoftExpiresAt) {
+      if (generation == invalidations.get()) {
+        local.put(key, current);
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private static CacheWriteBatch batchOf(Map<String, ?> entries, long timeout, TimeUnit unit) {
+    CacheWriteBatch batch = new CacheWriteBatch();
+    entries.forEach((key, value) -> batch.put(key, value, timeout, unit));
+    return batch;
+  }
+
+  private <T> T loadEntry(String key, Duration softTtl, Duration hardTtl, Supplier<T> loader) {
+    long start = System.nanoTime();
+    T value = cacheMetrics.timeLoad(key, loader);
+    long loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    if (value != null) {
+      CachedValue entry = new CachedValue(value, System.currentTimeMillis() + softTtl.toMillis(), loadMillis);
+      // Replaces the stale entry being refreshed; not a change, so not broadcast
+      put(key, entry, hardTtl.toMillis(), TimeUnit.MILLISECONDS, false);
+    }
+    return value;
+  }
+
+  private <T> void refreshAsync(String key, long staleSoftExpiresAt, Duration softTtl, Duration hardTtl,
+      Supplier<T> loader) {
+    if (!refreshing.add(key)) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(() -> {
+        try {
+          // Another replica holding the lease is already refreshing this key
+          redisLease.runIfAcquired(key, () -> {
+            if (!adoptNewerEntry(key, staleSoftExpiresAt)) {
+              loadEntry(key, softTtl, hardTtl, loader);
+            }
+          });
+        } catch (CacheUnavailableException e) {
+          log.debug("Background refresh skipped for {}: {}", key, e.getMessage());
+        } catch (RuntimeException e) {
+          log.warn("Background refresh failed for {}", key, e);
+        } finally {
+          refreshing.remove(key);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      refreshing.remove(key);
+    }
+  }
+
+  private static Set<TypedTuple<String>> toTuples(Map<Long, Double> members) {
+    Set<TypedTuple<String>> tuples = new HashSet<>(members.size());
+    members.forEach((id, score) -> tuples.add(new DefaultTypedTuple<>(id.toString(), score)));
+    return tuples;
+  }
+
+  private void flushAfterCommit(List<Consumer<CacheWriteBatch>> pending) {
+    CacheWriteBatch batch = new CacheWriteBatch();
+    try {
+      pending.forEach(writes -> writes.accept(batch));
+      pending.clear();
+      write(batch, true);
+    } catch (RuntimeException e) {
+      // The commit already happened; entries left behind expire on their own
+      log.warn("Failed to apply cache writes after commit", e);
+    }
+  }
+
+  /**
+   * Send a batch in one pipeline (or hand it to the async writer), then drop
+   * the touched keys from L1 here and, for a change, in one message on every
+   * other instance
+   * A change batch that cannot be sent is remembered for eviction later; a
+   * fill (values just loaded from the DB) is simply not cached in Redis, and
+   * is never broadcast, since other instances can only hold the same values
+   */
+  private void write(CacheWriteBatch batch, boolean change) {
+    if (batch.writes().isEmpty()) {
+      return;
+    }
+    Set<String> keys = new LinkedHashSet<>();
+    Map<String, Object> puts = new LinkedHashMap<>();
+    for (CacheWriteBatch.Write write : batch.writes()) {
+      keys.add(write.key());
+      puts.remove(write.key());
+      if (write instanceof CacheWriteBatch.Put put) {
+        puts.put(put.key(), put.value());
+      } else if (write instanceof CacheWriteBatch.Unlink unlink) {
+        cacheMetrics.recordEviction(unlink.key(), CacheMetrics.TIER_REDIS, "explicit");
+      }
+    }
+    // Fills that did not land in Redis (the key was taken, or the async
+    // writer cannot say) are left out of L1 too
+    Set<String> notStored = new HashSet<>();
+    try {
+      writeRedis(keys, change, () -> {
+        if (asyncCacheWriter != null) {
+          // Queued on the shared connection ahead of the broadcast below, so
+          // other instances re-read after the writes land
+          asyncCacheWriter.write(batch.writes(), () -> {
+            breaker.recordFailure();
+            if (change) {
+              loseWrites(keys);
+            }
+          });
+          batch.writes().stream()
+              .filter(write -> write instanceof CacheWriteBatch.Put put && put.ifAbsent())
+              .forEach(write -> notStored.add(write.key()));
+        } else {
+          List<Object> results = writePipelined(batch.writes());
+          for (int i = 0; i < batch.writes().size() && i < results.size(); i++) {
+            if (batch.writes().get(i) instanceof CacheWriteBatch.Put put && put.ifAbsent()
+                && !Boolean.TRUE.equals(results.get(i))) {
+              notStored.add(put.key());
+            }
+          }
+        }
+      });
+    } finally {
+      List<String> keyList = new ArrayList<>(keys);
+      invalidateLocal(keyList);
+      if (change) {
+        publish(keyList);
+      }
+    }
+    puts.keySet().removeAll(notStored);
+    local.putAll(puts);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Object> writePipelined(List<CacheWriteBatch.Write> writes) {
+    RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+    return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (CacheWriteBatch.Write write : writes) {
+        byte[] key = bytes(write.key());
+        switch (write) {
+          case CacheWriteBatch.Put put -> connection.stringCommands().set(key, valueSerializer.serialize(put.value()),
+              Expiration.milliseconds(put.ttlMillis()), put.ifAbsent() ? SetOption.ifAbsent() : SetOption.upsert());
+          case CacheWriteBatch.Unlink unlink -> connection.keyCommands().unlink(key);
+          case CacheWriteBatch.IndexAdd add -> connection.scriptingCommands().eval(
+              bytes(ADD_TO_INDEX_SCRIPT.getScriptAsString()), ReturnType.INTEGER, 1, key,
+              bytes(Double.toString(add.score())), bytes(add.id().toString()),
+              bytes(Long.toString(add.ttl().toSeconds())));
+          case CacheWriteBatch.IndexRemove remove -> connection.zSetCommands().zRem(key, bytes(remove.id().toString()));
+          case CacheWriteBatch.VersionBump bump -> connection.scriptingCommands().eval(
+              bytes(BUMP_VERSION_SCRIPT.getScriptAsString()), ReturnType.INTEGER, 1, key,
+              bytes(Long.toString(System.currentTimeMillis())));
+        }
+      }
+      return null;
+    });
+  }
+
+  // A Redis read through the breaker; null when Redis is unavailable
+  private <T> T readRedis(Supplier<T> read) {
+    try {
+      return breaker.execute(read);
+    } catch (CacheUnavailableException e) {
+      log.debug("Redis read skipped: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  // A Redis write through the breaker; L1 is updated by the caller either way
+  private void writeRedis(Collection<String> keys, boolean change, Runnable write) {
+    try {
+      breaker.execute(() -> {
+        write.run();
+        return null;
+      });
+    } catch (CacheUnavailableException e) {
+      log.debug("Redis write skipped for {}: {}", keys, e.getMessage());
+      if (change) {
+        loseWrites(keys);
+      }
+      return;
+    }
+    if (!lostWrites.isEmpty()) {
+      evictLostWrites();
+    }
+  }
+
+  private void loseWrites(Collection<String> keys) {
+    if (lostWrites.size() + keys.size() > MAX_LOST_WRITES) {
+      lostWritesOverflowed = true;
+      return;
+    }
+    lostWrites.addAll(keys);
+  }
+
+  /**
+   * Evict the keys whose changes were lost, with their dependents, now that
+   * Redis answers again; anything still failing is remembered again
+   */
+  private void evictLostWrites() {
+    Set<String> keys = new LinkedHashSet<>();
+    for (String key : List.copyOf(lostWrites)) {
+      if (lostWrites.remove(key)) {
+        keys.add(key);
+        dependentKeys.forEach(dependents -> keys.addAll(dependents.apply(key)));
+      }
+    }
+    if (lostWritesOverflowed) {
+      lostWritesOverflowed = false;
+      log.warn("More than {} cache changes were lost while Redis was unavailable; "
+          + "the rest stay stale in Redis until they expire", MAX_LOST_WRITES);
+    }
+    if (!keys.isEmpty()) {
+      log.info("Evicting {} cache entries changed while Redis was unavailable", keys.size());
+      evict(keys.toArray(String[]::new));
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private void invalidateLocal(List<String> keys) {
+    invalidations.incrementAndGet();
+    local.invalidateAll(keys);
+  }
+
+  private void publish(List<String> keys) {
+    try {
+      breaker.execute(() -> stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+          instanceId + MESSAGE_SEPARATOR + String.join(MESSAGE_SEPARATOR, keys)));
+    } catch (CacheUnavailableException e) {
+      // L1 entries expire on their own, so a lost broadcast only delays convergence
+      if (e.getCause() != null) {
+        log.warn("Failed to publish cache invalidation for {}", keys, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,245 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Latency-budgeted circuit breaker around Redis cache calls
+ * Calls that fail, or take longer than the slow-call threshold, count as bad.
+ * Once the bad share of the last window calls reaches the failure rate, the
+ * breaker opens and Redis is skipped entirely for the open duration, so a
+ * slow Redis costs nothing instead of a timeout per request. After that, a
+ * few half-open probe calls are let through: if they all succeed the breaker
+ * closes, otherwise it opens again. Per-call deadlines are the client's
+ * command timeout (spring.data.redis.timeout). Calls take no lock while the
+ * breaker is closed or open; only state changes and half-open probes do.
+ */
+@Component
+public class RedisCircuitBreaker {
+
+  private static final Logger log = LoggerFactory.getLogger(RedisCircuitBreaker.class);
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final int windowSize;
+  private final double failureRate;
+  private final long slowCallNanos;
+  private final long openNanos;
+  private final int probes;
+  private final MeterRegistry meterRegistry;
+  private final Counter rejected;
+  private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+
+  // Read without the lock on every call; changed under it
+  private volatile State state = State.CLOSED;
+  private volatile Window window;
+  private volatile long openedAt;
+
+  // Guarded by this
+  private int probesStarted;
+  private int probesSucceeded;
+
+  public RedisCircuitBreaker(MeterRegistry meterRegistry,
+      @Value("${event-api.cache.breaker.window:50}") int windowSize,
+      @Value("${event-api.cache.breaker.failure-rate:0.5}") double failureRate,
+      @Value("${event-api.cache.breaker.slow-call:50ms}") Duration slowCall,
+      @Value("${event-api.cache.breaker.open-duration:10s}") Duration openDuration,
+      @Value("${event-api.cache.breaker.probes:5}") int probes) {
+    this.windowSize = windowSize;
+    this.failureRate = failureRate;
+    this.slowCallNanos = slowCall.toNanos();
+    this.openNanos = openDuration.toNanos();
+    this.probes = probes;
+    this.window = new Window(windowSize);
+    this.meterRegistry = meterRegistry;
+
+    Gauge.builder("cache.redis.breaker.state", this, breaker -> breaker.state.ordinal())
+        .description("Redis circuit breaker state: 0 closed, 1 open, 2 half-open")
+        .register(meterRegistry);
+    this.rejected = Counter.builder("cache.redis.breaker.rejected")
+        .description("Redis calls skipped because the breaker was open")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Run a Redis call through the breaker
+   * Throws CacheUnavailableException if the breaker is open or the call fails
+   */
+  public <T> T execute(Supplier<T> call) {
+    return execute(call, true);
+  }
+
+  /**
+   * Same as execute(call), but a slow call only counts as bad if timed is
+   * set; for calls that wrap other work, like a DB load inside WATCH
+   */
+  public <T> T execute(Supplier<T> call, boolean timed) {
+    boolean probe = acquirePermission();
+    long start = System.nanoTime();
+    T result;
+    try {
+      result = call.get();
+    } catch (SerializationException e) {
+      // Redis answered; the entry itself is unreadable
+      record(false, probe);
+      throw new CacheUnavailableException("Unreadable cache entry", e);
+    } catch (RuntimeException e) {
+      record(true, probe);
+      throw new CacheUnavailableException("Redis call failed: " + e.getMessage(), e);
+    }
+    record(timed && System.nanoTime() - start > slowCallNanos, probe);
+    return result;
+  }
+
+  /**
+   * Count a failure seen outside execute, e.g. a failed async write
+   */
+  public void recordFailure() {
+    record(true, false);
+  }
+
+  /**
+   * Run a callback each time the breaker closes again
+   */
+  public void addCloseListener(Runnable listener) {
+    closeListeners.add(listener);
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  // Returns whether this call is a half-open probe
+  private boolean acquirePermission() {
+    State current = state;
+    if (current == State.CLOSED) {
+      return false;
+    }
+    if (current == State.OPEN && System.nanoTime() - openedAt < openNanos) {
+      rejected.increment();
+      throw new CacheUnavailableException("Redis circuit breaker is " + current);
+    }
+    synchronized (this) {
+      if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+        transition(State.HALF_OPEN);
+        probesStarted = 0;
+        probesSucceeded = 0;
+      }
+      if (state == State.HALF_OPEN && probesStarted < probes) {
+        probesStarted++;
+        return true;
+      }
+      if (state == State.CLOSED) {
+        return false;
+      }
+    }
+    rejected.increment();
+    throw new CacheUnavailableException("Redis circuit breaker is " + state);
+  }
+
+  private void record(boolean failed, boolean probe) {
+    if (probe) {
+      recordProbe(failed);
+      return;
+    }
+    if (state != State.CLOSED) {
+      return;
+    }
+    Window current = window;
+    long call = current.calls.getAndIncrement();
+    int outcome = failed ? 1 : 0;
+    int change = outcome - current.outcomes.getAndSet((int) (call % windowSize), outcome);
+    int bad = change == 0 ? current.bad.get() : current.bad.addAndGet(change);
+    if (call + 1 >= windowSize && bad >= failureRate * windowSize) {
+      synchronized (this) {
+        // Another call may have opened it already
+        if (state == State.CLOSED && window == current) {
+          open();
+        }
+      }
+    }
+  }
+
+  private void recordProbe(boolean failed) {
+    boolean closed = false;
+    synchronized (this) {
+      if (state != State.HALF_OPEN) {
+        return;
+      }
+      if (failed) {
+        open();
+      } else if (++probesSucceeded >= probes) {
+        window = new Window(windowSize);
+        transition(State.CLOSED);
+        closed = true;
+      }
+    }
+    if (closed) {
+      closeListeners.forEach(this::runCloseListener);
+    }
+  }
+
+  // Called under the lock
+  private void open() {
+    openedAt = System.nanoTime();
+    window = new Window(windowSize);
+    transition(State.OPEN);
+  }
+
+  private void transition(State to) {
+    State from = state;
+    if (from == to) {
+      return;
+    }
+    state = to;
+    Counter.builder("cache.redis.breaker.transitions")
+        .description("Redis circuit breaker state changes")
+        .tag("from", from.name().toLowerCase())
+        .tag("to", to.name().toLowerCase())
+        .register(meterRegistry)
+        .increment();
+    if (to == State.OPEN) {
+      log.warn("Redis circuit breaker opened; serving cache reads from L1 and the DB");
+    } else {
+      log.info("Redis circuit breaker is now {}", to);
+    }
+  }
+
+  private void runCloseListener(Runnable listener) {
+    try {
+      listener.run();
+    } catch (RuntimeException e) {
+      log.warn("Redis circuit breaker close listener failed", e);
+    }
+  }
+
+  // Ring of the last windowSize outcomes (1 = bad), updated without a lock
+  // A new one replaces it on each state change, so calls still finishing
+  // against the old one cannot skew the new count
+  private static final class Window {
+
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicInteger bad = new AtomicInteger();
+
+    Window(int size) {
+      this.outcomes = new AtomicIntegerArray(size);
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Optional cluster-wide lease so only one replica rebuilds a shared cache entry
+ * Replicas that lose the race poll Redis for the winner's result, and load it
+ * themselves if the winner does not finish within the wait budget.
+ * While Redis is unavailable there is no lease to take: loads go ahead
+ * without one and background refreshes are skipped.
+ */
+@Component
+public class RedisLease {
+
+  private static final String LEASE_PREFIX = "lease:";
+
+  // Only delete the lease if we still own it
+  private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+      Long.class);
+
+  private final StringRedisTemplate stringRedisTemplate;
+  private final RedisCircuitBreaker breaker;
+  private final boolean enabled;
+  private final Duration ttl;
+  private final Duration wait;
+  private final Duration pollInterval;
+
+  public RedisLease(StringRedisTemplate stringRedisTemplate,
+      RedisCircuitBreaker breaker,
+      @Value("${event-api.cache.lease.enabled:false}") boolean enabled,
+      @Value("${event-api.cache.lease.ttl:5s}") Duration ttl,
+      @Value("${event-api.cache.lease.wait:2s}") Duration wait,
+      @Value("${event-api.cache.lease.poll-interval:50ms}") Duration pollInterval) {
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.breaker = breaker;
+    this.enabled = enabled;
+    this.ttl = ttl;
+    this.wait = wait;
+    this.pollInterval = pollInterval;
+  }
+
+  /**
+   * Run the loader while holding the lease for the given key
+   * If another replica holds it, poll with peek until it publishes a value
+   */
+  public <T> T callExclusively(String key, Supplier<T> peek, Supplier<T> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+
+    String leaseKey = LEASE_PREFIX + key;
+    String token = UUID.randomUUID().toString();
+    Boolean acquired = tryAcquire(leaseKey, token);
+    if (acquired == null) {
+      return loader.get();
+    }
+    if (!acquired) {
+      T value = awaitOtherReplica(peek);
+      // The lease holder is slow or gone, load without the lease
+      return value != null ? value : loader.get();
+    }
+
+    try {
+      return loader.get();
+    } finally {
+      release(leaseKey, token);
+    }
+  }
+
+  /**
+   * Run the task only if this replica gets the lease, otherwise skip it
+   * Used for background refreshes where another replica doing the work is enough
+   */
+  public boolean runIfAcquired(String key, Runnable task) {
+    if (!enabled) {
+      task.run();
+      return true;
+    }
+
+    String leaseKey = LEASE_PREFIX + key;
+    String token = UUID.randomUUID().toString();
+    if (!Boolean.TRUE.equals(tryAcquire(leaseKey, token))) {
+      return false;
+    }
+
+    try {
+      task.run();
+      return true;
+    } finally {
+      release(leaseKey, token);
+    }
+  }
+
+  // Null when Redis is unavailable
+  private Boolean tryAcquire(String leaseKey, String token) {
+    try {
+      return breaker.execute(() -> Boolean.TRUE.equals(
+          stringRedisTemplate.opsForValue().setIfAbsent(leaseKey, token, ttl)));
+    } catch (CacheUnavailableException e) {
+      return null;
+    }
+  }
+
+  private void release(String leaseKey, String token) {
+    try {
+      breaker.execute(() -> stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token));
+    } catch (CacheUnavailableException e) {
+      // The lease expires on its own
+    }
+  }
+
+  private <T> T awaitOtherReplica(Supplier<T> peek) {
+    long deadline = System.nanoTime() + wait.toNanos();
+    while (System.nanoTime() < deadline) {
+      try {
+        Thread.sleep(pollInterval.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      T value = peek.get();
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,208 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process cache of serialized JSON response bodies, keyed by ETag
+ * An ETag names one version of a response, so nothing has to be
+ * invalidated: a change produces a new ETag and the old body ages out. That
+ * holds only if the body matches its ETag, and a list's ETag is read apart
+ * from the body; a body whose ETag changed while it was built is served but
+ * not cached. A hit skips resolving the response objects and serializing
+ * them; the bytes are written to the response as they are.
+ * Gzip and brotli variants are compressed once per version too, at a high
+ * level since the cost is not paid per request. Concurrent misses for the
+ * same body wait for one build. Bounded by total body size.
+ */
+@Component
+public class ResponseBodyCache {
+
+  private static final Logger log = LoggerFactory.getLogger(ResponseBodyCache.class);
+
+  public static final String GZIP = "gzip";
+  public static final String BROTLI = "br";
+
+  private final ObjectMapper objectMapper;
+  private final CacheMetrics cacheMetrics;
+  private final Cache<String, byte[]> bodies;
+  private final SingleFlight singleFlight = new SingleFlight();
+  private final int gzipLevel;
+  private final int brotliQuality;
+  // Brotli needs brotli4j's native library, which is not built for every platform
+  private final boolean brotliAvailable;
+
+  public ResponseBodyCache(ObjectMapper objectMapper, CacheMetrics cacheMetrics,
+      @Value("${event-api.cache.response.maximum-size:32MB}") DataSize maximumSize,
+      @Value("${event-api.cache.response.expire-after-access:10m}") Duration expireAfterAccess,
+      @Value("${event-api.cache.response.gzip-level:9}") int gzipLevel,
+      @Value("${event-api.cache.response.brotli-quality:9}") int brotliQuality) {
+    this.objectMapper = objectMapper;
+    this.cacheMetrics = cacheMetrics;
+    this.bodies = Caffeine.newBuilder()
+        .maximumWeight(maximumSize.toBytes())
+        .<String, byte[]>weigher((key, body) -> body.length)
+        .expireAfterAccess(expireAfterAccess)
+        .build();
+    this.gzipLevel = gzipLevel;
+    this.brotliQuality = brotliQuality;
+    this.brotliAvailable = Brotli4jLoader.isAvailable();
+    if (!brotliAvailable) {
+      log.info("Brotli is not available on this platform, so responses are only gzip-compressed: {}",
+          String.valueOf(Brotli4jLoader.getUnavailabilityCause()));
+    }
+  }
+
+  /**
+   * JSON body of the response named name (a cache key such as events:all)
+   * at version eTag, serialized from body on a miss
+   * With no ETag there is no version to cache under, so the body is
+   * serialized every time
+   */
+  public byte[] getJson(String name, String eTag, Supplier<?> body) {
+    return getJson(name, eTag, body, () -> eTag);
+  }
+
+  /**
+   * Same as getJson, for a body read apart from its ETag: currentETag is
+   * read again once the body is built, and if it no longer equals eTag the
+   * body may hold changes eTag does not name, so it is not cached
+   */
+  public byte[] getJson(String name, String eTag, Supplier<?> body, Supplier<String> currentETag) {
+    if (eTag == null) {
+      return serialize(body.get());
+    }
+    return get(name + ":" + eTag, () -> serialize(body.get()), () -> eTag.equals(currentETag.get()));
+  }
+
+  /**
+   * Same as getJson, compressed with encoding (GZIP or BROTLI), or as is
+   * when encoding is null
+   */
+  public byte[] getEncoded(String name, String eTag, String encoding, Supplier<?> body) {
+    return getEncoded(name, eTag, encoding, body, () -> eTag);
+  }
+
+  /**
+   * Same as getJson with currentETag, compressed with encoding (GZIP or
+   * BROTLI), or as is when encoding is null
+   */
+  public byte[] getEncoded(String name, String eTag, String encoding, Supplier<?> body,
+      Supplier<String> currentETag) {
+    if (encoding == null || eTag == null) {
+      return getJson(name, eTag, body, currentETag);
+    }
+    return get(name + ":" + eTag + ":" + encoding, () -> compress(getJson(name, eTag, body, currentETag), encoding),
+        () -> eTag.equals(currentETag.get()));
+  }
+
+  /**
+   * The content coding to send for an Accept-Encoding header: brotli, then
+   * gzip, or null for none. Codings with q=0 are refused
+   */
+  public String negotiateEncoding(String acceptEncoding) {
+    if (acceptEncoding == null || acceptEncoding.isBlank()) {
+      return null;
+    }
+    Map<String, Double> qualities = new HashMap<>();
+    for (String part : acceptEncoding.split(",")) {
+      String[] params = part.split(";");
+      String coding = params[0].trim().toLowerCase(Locale.ROOT);
+      double quality = 1.0;
+      for (int i = 1; i < params.length; i++) {
+        String param = params[i].trim();
+        if (param.startsWith("q=")) {
+          try {
+            quality = Double.parseDouble(param.substring(2));
+          } catch (NumberFormatException e) {
+            quality = 0;
+          }
+        }
+      }
+      qualities.put(coding, quality);
+    }
+    if (brotliAvailable && accepts(qualities, BROTLI)) {
+      return BROTLI;
+    }
+    return accepts(qualities, GZIP) ? GZIP : null;
+  }
+
+  /**
+   * Drop every cached body on this instance
+   */
+  public void invalidateAll() {
+    bodies.invalidateAll();
+  }
+
+  // current is checked after a build, before the body is cached
+  private byte[] get(String key, Supplier<byte[]> build, BooleanSupplier current) {
+    byte[] cached = bodies.getIfPresent(key);
+    cacheMetrics.recordGet(key, CacheMetrics.TIER_RESPONSE, cached != null);
+    if (cached != null) {
+      return cached;
+    }
+    return singleFlight.execute(key, () -> {
+      byte[] built = bodies.getIfPresent(key);
+      if (built == null) {
+        built = build.get();
+        if (current.getAsBoolean()) {
+          bodies.put(key, built);
+        }
+      }
+      return built;
+    });
+  }
+
+  // A coding not listed is accepted only through a * entry
+  private static boolean accepts(Map<String, Double> qualities, String coding) {
+    Double quality = qualities.containsKey(coding) ? qualities.get(coding) : qualities.get("*");
+    return quality != null && quality > 0;
+  }
+
+  private byte[] serialize(Object body) {
+    try {
+      return objectMapper.writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize response body", e);
+    }
+  }
+
+  private byte[] compress(byte[] json, String encoding) {
+    try {
+      if (BROTLI.equals(encoding)) {
+        return Encoder.compress(json, new Encoder.Parameters().setQuality(brotliQuality).setMode(Encoder.Mode.TEXT));
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+      try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+        {
+          def.setLevel(gzipLevel);
+        }
+      }) {
+        gzip.write(json);
+      }
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to compress response body with " + encoding, e);
+    }
+  }
+}
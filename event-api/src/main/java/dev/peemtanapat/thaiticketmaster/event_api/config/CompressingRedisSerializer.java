@@ -0,0 +1,110 @@
+package dev.peemtanapat.thaiticketmaster.event_api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LZ4-compresses serialized values at or above a size threshold
+ * Compressed values are [MAGIC, original length (4 bytes), LZ4 block]; smaller
+ * values and values that do not shrink are stored as the delegate wrote
+ * them, so both kinds can sit side by side in Redis.
+ */
+public class CompressingRedisSerializer implements RedisSerializer<Object> {
+
+  // Never the first byte of a JSON document or of a versioned binary entry
+  static final byte MAGIC = (byte) 0xEB;
+  private static final int HEADER_LENGTH = 5;
+
+  private final RedisSerializer<Object> delegate;
+  private final int threshold;
+  private final LZ4Compressor compressor;
+  private final LZ4FastDecompressor decompressor;
+
+  private final DistributionSummary ratio;
+  private final Counter bytesSaved;
+  private final Counter skipped;
+  private final Timer compressTime;
+  private final Timer decompressTime;
+
+  public CompressingRedisSerializer(RedisSerializer<Object> delegate, int threshold, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.threshold = threshold;
+    LZ4Factory factory = LZ4Factory.fastestInstance();
+    this.compressor = factory.fastCompressor();
+    this.decompressor = factory.fastDecompressor();
+
+    this.ratio = DistributionSummary.builder("cache.compression.ratio")
+        .description("Original size divided by compressed size of compressed cache values")
+        .register(meterRegistry);
+    this.bytesSaved = Counter.builder("cache.compression.saved")
+        .description("Bytes kept out of Redis by compression")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    this.skipped = Counter.builder("cache.compression.skipped")
+        .description("Values stored uncompressed because they were below the threshold or did not shrink")
+        .register(meterRegistry);
+    this.compressTime = Timer.builder("cache.compression.time")
+        .tag("operation", "compress")
+        .register(meterRegistry);
+    this.decompressTime = Timer.builder("cache.compression.time")
+        .tag("operation", "decompress")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public byte[] serialize(Object value) throws SerializationException {
+    byte[] bytes = delegate.serialize(value);
+    if (bytes == null || bytes.length < threshold) {
+      skipped.increment();
+      return bytes;
+    }
+
+    long start = System.nanoTime();
+    byte[] compressed = new byte[HEADER_LENGTH + compressor.maxCompressedLength(bytes.length)];
+    int length = compressor.compress(bytes, 0, bytes.length, compressed, HEADER_LENGTH);
+    compressTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+    if (HEADER_LENGTH + length >= bytes.length) {
+      skipped.increment();
+      return bytes;
+    }
+    compressed[0] = MAGIC;
+    ByteBuffer.wrap(compressed, 1, 4).putInt(bytes.length);
+    ratio.record((double) bytes.length / length);
+    bytesSaved.increment(bytes.length - HEADER_LENGTH - length);
+    return Arrays.copyOf(compressed, HEADER_LENGTH + length);
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+      return delegate.deserialize(bytes);
+    }
+    if (bytes.length < HEADER_LENGTH) {
+      throw new SerializationException("Truncated compressed cache value");
+    }
+
+    long start = System.nanoTime();
+    int originalLength = ByteBuffer.wrap(bytes, 1, 4).getInt();
+    byte[] original;
+    try {
+      original = decompressor.decompress(bytes, HEADER_LENGTH, originalLength);
+    } catch (LZ4Exception e) {
+      throw new SerializationException("Could not decompress cache value: " + e.getMessage(), e);
+    }
+    decompressTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return delegate.deserialize(original);
+  }
+}
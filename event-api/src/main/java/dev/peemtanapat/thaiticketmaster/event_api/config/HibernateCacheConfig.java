@@ -0,0 +1,95 @@
+package dev.peemtanapat.thaiticketmaster.event_api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import dev.peemtanapat.thaiticketmaster.event_api.event.Category;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache, in-process on Caffeine through JCache
+ * Only categories are cached. The cache is per JVM, so CategoryCatalog
+ * evicts it when another instance broadcasts a category change. Events and
+ * query results are not cached here: they feed the Redis entries shared by
+ * every instance, and a stale local copy would overwrite newer data there.
+ * Every region is created up front with its own size bound and expiry, read
+ * from event-api.cache.hibernate.regions.{region}.maximum-size and
+ * .expire-after-write; Hibernate is not allowed to create any other, so no
+ * region is ever unbounded. Eviction is Caffeine's size-based W-TinyLFU.
+ * With statistics on, hits, misses and puts per region are published as the
+ * hibernate.second.level.cache.* meters.
+ */
+@Configuration
+@ConditionalOnProperty(name = "event-api.cache.hibernate.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+  private static final String REGION_PROPERTY_PREFIX = "event-api.cache.hibernate.regions.";
+
+  // Size and expiry of each region unless configured
+  private static final Map<String, Region> DEFAULT_REGIONS = Map.of(
+      Category.CACHE_REGION, new Region(1_000, Duration.ofHours(1)));
+
+  /**
+   * JCache manager holding the Hibernate regions
+   * Taken from a provider of its own, so every application context (e.g. in
+   * tests) gets separate regions
+   */
+  @Bean(destroyMethod = "close")
+  public CacheManager hibernateCacheManager(Environment environment,
+      @Value("${event-api.cache.hibernate.statistics:true}") boolean statistics) {
+    CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+    DEFAULT_REGIONS.forEach((name, defaults) -> {
+      long maximumSize = environment.getProperty(REGION_PROPERTY_PREFIX + name + ".maximum-size", Long.class,
+          defaults.maximumSize());
+      Duration expireAfterWrite = environment.getProperty(REGION_PROPERTY_PREFIX + name + ".expire-after-write",
+          Duration.class, defaults.expireAfterWrite());
+      cacheManager.createCache(name, regionConfiguration(OptionalLong.of(maximumSize),
+          OptionalLong.of(expireAfterWrite.toNanos()), statistics));
+    });
+    return cacheManager;
+  }
+
+  /**
+   * Turn on the second-level cache over hibernateCacheManager, without the
+   * query cache
+   */
+  @Bean
+  public HibernatePropertiesCustomizer hibernateCacheProperties(CacheManager hibernateCacheManager,
+      @Value("${event-api.cache.hibernate.statistics:true}") boolean statistics) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+      // A region missing above is a mistake to catch at startup
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+      properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+    };
+  }
+
+  private static CaffeineConfiguration<Object, Object> regionConfiguration(OptionalLong maximumSize,
+      OptionalLong expireAfterWriteNanos, boolean statistics) {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(maximumSize);
+    configuration.setExpireAfterWrite(expireAfterWriteNanos);
+    // Hibernate never mutates a cached entry, so there is no need to copy it
+    // on every read and write
+    configuration.setStoreByValue(false);
+    configuration.setStatisticsEnabled(statistics);
+    return configuration;
+  }
+
+  private record Region(long maximumSize, Duration expireAfterWrite) {
+  }
+}
@@ -0,0 +1,79 @@
+package dev.peemtanapat.thaiticketmaster.event_api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records codec time and stored payload size for every Redis value
+ * The codec never sees the key, so meters are tagged by value type instead;
+ * each cached type lives under one key family (EventDTO and MissingValue
+ * under event:, CachedValue under the list stamps).
+ */
+public class MeteredRedisSerializer implements RedisSerializer<Object> {
+
+  private final RedisSerializer<Object> delegate;
+  private final MeterRegistry meterRegistry;
+  // Meters are looked up on every Redis value, so skip the builders after the first
+  private final Map<Class<?>, Meters> serializeMeters = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Meters> deserializeMeters = new ConcurrentHashMap<>();
+
+  public MeteredRedisSerializer(RedisSerializer<Object> delegate, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public byte[] serialize(Object value) throws SerializationException {
+    long start = System.nanoTime();
+    byte[] bytes = delegate.serialize(value);
+    record(serializeMeters, "serialize", value, start, bytes);
+    return bytes;
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0) {
+      return delegate.deserialize(bytes);
+    }
+    long start = System.nanoTime();
+    Object value = delegate.deserialize(bytes);
+    record(deserializeMeters, "deserialize", value, start, bytes);
+    return value;
+  }
+
+  private void record(Map<Class<?>, Meters> meters, String operation, Object value, long start, byte[] bytes) {
+    long elapsed = System.nanoTime() - start;
+    if (value == null || bytes == null) {
+      return;
+    }
+    Meters typeMeters = meters.computeIfAbsent(value.getClass(), type -> register(operation, type));
+    typeMeters.time().record(elapsed, TimeUnit.NANOSECONDS);
+    typeMeters.size().record(bytes.length);
+  }
+
+  private Meters register(String operation, Class<?> valueType) {
+    String type = valueType.getSimpleName();
+    Timer time = Timer.builder("cache.serialization.time")
+        .description("Time spent encoding or decoding a Redis value, compression included")
+        .tag("operation", operation)
+        .tag("type", type)
+        .register(meterRegistry);
+    DistributionSummary size = DistributionSummary.builder("cache.payload.size")
+        .description("Size of Redis values as stored")
+        .baseUnit("bytes")
+        .tag("operation", operation)
+        .tag("type", type)
+        .register(meterRegistry);
+    return new Meters(time, size);
+  }
+
+  private record Meters(Timer time, DistributionSummary size) {
+  }
+}
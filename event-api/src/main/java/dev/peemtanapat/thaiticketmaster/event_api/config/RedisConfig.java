@@ -5,6 +5,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.NearCache;
+import io.lettuce.core.ClientOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,9 +17,12 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 
@@ -27,38 +35,29 @@ import java.time.Duration;
 public class RedisConfig {
 
   /**
-   * Configure RedisTemplate with JSON serialization
+   * Configure RedisTemplate with JSON or compact binary serialization
+   * The binary codec still reads JSON entries, so it can be switched on
+   * without flushing Redis. Large values are LZ4-compressed on top, and codec
+   * time and payload size are recorded as cache.serialization.time and
+   * cache.payload.size
    */
   @Bean
-  public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+  public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+      MeterRegistry meterRegistry,
+      @Value("${event-api.cache.codec:json}") VersionedRedisSerializer.Codec codec,
+      @Value("${event-api.cache.compression.threshold:1KB}") DataSize compressionThreshold) {
     RedisTemplate<String, Object> template = new RedisTemplate<>();
     template.setConnectionFactory(connectionFactory);
 
-    // Configure ObjectMapper for proper Java 8 date/time serialization
-    ObjectMapper objectMapper = new ObjectMapper();
-    objectMapper.registerModule(new JavaTimeModule());
-
-    // Register Hibernate6Module to handle lazy initialization properly
-    Hibernate6Module hibernate6Module = new Hibernate6Module();
-    hibernate6Module.configure(Hibernate6Module.Feature.FORCE_LAZY_LOADING, false);
-    hibernate6Module.configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
-    objectMapper.registerModule(hibernate6Module);
-
-    // Enable type information for polymorphic deserialization
-    objectMapper.activateDefaultTyping(
-        BasicPolymorphicTypeValidator.builder()
-            .allowIfBaseType(Object.class)
-            .build(),
-        ObjectMapper.DefaultTyping.NON_FINAL,
-        JsonTypeInfo.As.PROPERTY);
-
-    GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+    MeteredRedisSerializer serializer = new MeteredRedisSerializer(new CompressingRedisSerializer(
+        new VersionedRedisSerializer(jsonSerializer(), codec), (int) compressionThreshold.toBytes(), meterRegistry),
+        meterRegistry);
 
     // Use String serializer for keys
     template.setKeySerializer(new StringRedisSerializer());
     template.setHashKeySerializer(new StringRedisSerializer());
 
-    // Use JSON serializer for values
+    // Use the metered, compressing, versioned serializer for values
     template.setValueSerializer(serializer);
     template.setHashValueSerializer(serializer);
 
@@ -66,12 +65,54 @@ public class RedisConfig {
     return template;
   }
 
+  /**
+   * Lettuce client options, used when spring.data.redis.client-type is lettuce
+   * While disconnected, commands fail at once instead of piling up on the
+   * shared connection
+   */
+  @Bean
+  public LettuceClientConfigurationBuilderCustomizer lettuceClientOptions() {
+    return builder -> builder.clientOptions(ClientOptions.builder()
+        .autoReconnect(true)
+        .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+        .build());
+  }
+
   /**
    * Configure cache manager with default TTL
    */
   @Bean
   public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-    // Configure ObjectMapper for cache serialization
+    GenericJackson2JsonRedisSerializer serializer = jsonSerializer();
+
+    RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+        .entryTtl(Duration.ofHours(1)) // Default TTL of 1 hour
+        .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
+        .disableCachingNullValues();
+
+    return RedisCacheManager.builder(connectionFactory)
+        .cacheDefaults(config)
+        .build();
+  }
+
+  /**
+   * Subscribe the near cache to cross-instance invalidation messages
+   */
+  @Bean
+  public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+      NearCache nearCache) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(nearCache, new ChannelTopic(NearCache.INVALIDATION_CHANNEL));
+    return container;
+  }
+
+  /**
+   * JSON serializer with type information for polymorphic deserialization
+   */
+  static GenericJackson2JsonRedisSerializer jsonSerializer() {
+    // Configure ObjectMapper for proper Java 8 date/time serialization
     ObjectMapper objectMapper = new ObjectMapper();
     objectMapper.registerModule(new JavaTimeModule());
 
@@ -81,6 +122,7 @@ public class RedisConfig {
     hibernate6Module.configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
     objectMapper.registerModule(hibernate6Module);
 
+    // Enable type information for polymorphic deserialization
     objectMapper.activateDefaultTyping(
         BasicPolymorphicTypeValidator.builder()
             .allowIfBaseType(Object.class)
@@ -88,16 +130,6 @@ public class RedisConfig {
         ObjectMapper.DefaultTyping.NON_FINAL,
         JsonTypeInfo.As.PROPERTY);
 
-    GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-
-    RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-        .entryTtl(Duration.ofHours(1)) // Default TTL of 1 hour
-        .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
-        .disableCachingNullValues();
-
-    return RedisCacheManager.builder(connectionFactory)
-        .cacheDefaults(config)
-        .build();
+    return new GenericJackson2JsonRedisSerializer(objectMapper);
   }
 }
@@ -0,0 +1,131 @@
+package dev.peemtanapat.thaiticketmaster.event_api.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.CachedValue;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.MissingValue;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventDTO;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Redis value serializer with a compact binary format for the hot cache types
+ * Binary entries are Smile without per-object type tags, behind a header of
+ * [MAGIC, schema version, type tag]. Other types, and everything when the
+ * codec is JSON, go through the JSON serializer. Entries without the header
+ * are read as JSON, so existing entries keep working after a switch.
+ */
+public class VersionedRedisSerializer implements RedisSerializer<Object> {
+
+  public enum Codec {
+    JSON, SMILE
+  }
+
+  // Never the first byte of a JSON document
+  static final byte MAGIC = (byte) 0xEA;
+  static final byte SCHEMA_VERSION = 1;
+  private static final int HEADER_LENGTH = 3;
+
+  // Type tags are part of the schema: never reuse or renumber them
+  private static final byte TAG_EVENT = 1;
+  private static final byte TAG_CACHED_VALUE = 2;
+  private static final byte TAG_MISSING = 3;
+
+  private final RedisSerializer<Object> jsonSerializer;
+  private final Codec codec;
+  private final ObjectMapper smileMapper;
+
+  public VersionedRedisSerializer(RedisSerializer<Object> jsonSerializer, Codec codec) {
+    this.jsonSerializer = jsonSerializer;
+    this.codec = codec;
+    this.smileMapper = new ObjectMapper(new SmileFactory())
+        .registerModule(new JavaTimeModule())
+        // Fields added within a schema version must not break older readers
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  }
+
+  @Override
+  public byte[] serialize(Object value) throws SerializationException {
+    if (value == null) {
+      return new byte[0];
+    }
+    if (codec == Codec.JSON) {
+      return jsonSerializer.serialize(value);
+    }
+
+    try {
+      if (value instanceof EventDTO event) {
+        return withHeader(TAG_EVENT, smileMapper.writeValueAsBytes(event));
+      }
+      if (value instanceof CachedValue cachedValue) {
+        // The wrapped value is encoded on its own, so it keeps its own type
+        CachedValueFrame frame = new CachedValueFrame();
+        frame.softExpiresAt = cachedValue.getSoftExpiresAt();
+        frame.loadMillis = cachedValue.getLoadMillis();
+        frame.value = serialize(cachedValue.getValue());
+        return withHeader(TAG_CACHED_VALUE, smileMapper.writeValueAsBytes(frame));
+      }
+      if (value instanceof MissingValue) {
+        return withHeader(TAG_MISSING, new byte[0]);
+      }
+    } catch (IOException e) {
+      throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+    }
+    return jsonSerializer.serialize(value);
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    if (bytes[0] != MAGIC) {
+      return jsonSerializer.deserialize(bytes);
+    }
+    if (bytes.length < HEADER_LENGTH || bytes[1] != SCHEMA_VERSION) {
+      // Written by a newer release: treat as a miss so it gets reloaded
+      return null;
+    }
+
+    byte[] payload = Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+    try {
+      switch (bytes[2]) {
+        case TAG_EVENT:
+          return smileMapper.readValue(payload, EventDTO.class);
+        case TAG_CACHED_VALUE:
+          CachedValueFrame frame = smileMapper.readValue(payload, CachedValueFrame.class);
+          Object value = deserialize(frame.value);
+          return value == null ? null : new CachedValue(value, frame.softExpiresAt, frame.loadMillis);
+        case TAG_MISSING:
+          return new MissingValue();
+        default:
+          return null;
+      }
+    } catch (IOException e) {
+      throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+    }
+  }
+
+  private static byte[] withHeader(byte tag, byte[] payload) {
+    byte[] bytes = new byte[HEADER_LENGTH + payload.length];
+    bytes[0] = MAGIC;
+    bytes[1] = SCHEMA_VERSION;
+    bytes[2] = tag;
+    System.arraycopy(payload, 0, bytes, HEADER_LENGTH, payload.length);
+    return bytes;
+  }
+
+  /**
+   * Binary layout of a CachedValue
+   */
+  static class CachedValueFrame {
+    public long softExpiresAt;
+    public long loadMillis;
+    public byte[] value;
+  }
+}
@@ -1,15 +1,25 @@
 package dev.peemtanapat.thaiticketmaster.event_api.event;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "categories")
+@EntityListeners(CategoryChangeListener.class)
+// Rarely written, so a write only evicts the cached entry
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = Category.CACHE_REGION)
 public class Category implements Serializable {
 
   private static final long serialVersionUID = 1L;
 
+  // Second-level cache region
+  public static final String CACHE_REGION = "category";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
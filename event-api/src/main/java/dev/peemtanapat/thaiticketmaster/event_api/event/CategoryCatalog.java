@@ -0,0 +1,154 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import dev.peemtanapat.thaiticketmaster.event_api.cache.NearCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory, copy-on-write snapshot of all categories
+ * Reads never touch the DB once loaded; a category change drops the snapshot
+ * on every instance and the next read loads a new one. Categories written
+ * straight to the DB send no broadcast, so the snapshot is also reloaded
+ * periodically.
+ */
+@Component
+public class CategoryCatalog {
+
+  // Broadcast over the near cache channel when categories change
+  static final String CATALOG_KEY = "categories";
+
+  private final CategoryRepository categoryRepository;
+  private final NearCache nearCache;
+  private final EntityManagerFactory entityManagerFactory;
+
+  private volatile Snapshot snapshot;
+  // Bumped on every invalidation so a load racing a change is not kept
+  private final AtomicLong generation = new AtomicLong();
+
+  public CategoryCatalog(CategoryRepository categoryRepository, NearCache nearCache,
+      EntityManagerFactory entityManagerFactory) {
+    this.categoryRepository = categoryRepository;
+    this.nearCache = nearCache;
+    this.entityManagerFactory = entityManagerFactory;
+    nearCache.addRemoteInvalidationListener(keys -> {
+      if (keys.contains(CATALOG_KEY)) {
+        // The second-level cache is per JVM, so a change made elsewhere
+        // must be dropped from it here too
+        entityManagerFactory.getCache().evict(Category.class);
+        invalidate();
+      }
+    });
+  }
+
+  /**
+   * All categories, in DB order
+   */
+  public List<EventDTO.CategoryDTO> getAll() {
+    return snapshot().categories();
+  }
+
+  public Optional<EventDTO.CategoryDTO> findById(Long id) {
+    return Optional.ofNullable(snapshot().byId().get(id));
+  }
+
+  public Optional<EventDTO.CategoryDTO> findByName(String name) {
+    return Optional.ofNullable(snapshot().byName().get(name));
+  }
+
+  /**
+   * Get a category that must exist
+   */
+  public EventDTO.CategoryDTO getById(Long id) {
+    return findById(id)
+        .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + id));
+  }
+
+  /**
+   * Drop the snapshot on this instance only
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    snapshot = null;
+  }
+
+  /**
+   * Load a new snapshot, dropping categories from the second-level cache
+   * too; reads keep the current snapshot until it is replaced
+   */
+  @Scheduled(fixedDelayString = "${event-api.cache.categories.reload-interval:5m}",
+      initialDelayString = "${event-api.cache.categories.reload-interval:5m}")
+  public void reload() {
+    entityManagerFactory.getCache().evict(Category.class);
+    synchronized (this) {
+      load();
+    }
+  }
+
+  /**
+   * Drop the snapshot as soon as a category is written, so this transaction
+   * reads its own change
+   */
+  @EventListener
+  public void onCategoryChanging(CategoryChangedEvent event) {
+    invalidate();
+  }
+
+  /**
+   * Drop it again once the write commits or rolls back, since another
+   * thread may have reloaded in between, and tell the other instances
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    invalidate();
+    nearCache.evict(CATALOG_KEY);
+  }
+
+  private Snapshot snapshot() {
+    Snapshot current = snapshot;
+    if (current != null) {
+      return current;
+    }
+    synchronized (this) {
+      if (snapshot != null) {
+        return snapshot;
+      }
+      return load();
+    }
+  }
+
+  // Called holding the lock
+  private Snapshot load() {
+    long loadGeneration = generation.get();
+    Snapshot loaded = Snapshot.of(categoryRepository.findAll());
+    if (loadGeneration == generation.get()) {
+      snapshot = loaded;
+    }
+    return loaded;
+  }
+
+  private record Snapshot(List<EventDTO.CategoryDTO> categories,
+      Map<Long, EventDTO.CategoryDTO> byId,
+      Map<String, EventDTO.CategoryDTO> byName) {
+
+    static Snapshot of(List<Category> categories) {
+      List<EventDTO.CategoryDTO> dtos = categories.stream().map(EventDTO.CategoryDTO::new).toList();
+      Map<Long, EventDTO.CategoryDTO> byId = new HashMap<>();
+      Map<String, EventDTO.CategoryDTO> byName = new HashMap<>();
+      for (EventDTO.CategoryDTO dto : dtos) {
+        byId.put(dto.getId(), dto);
+        byName.put(dto.getName(), dto);
+      }
+      return new Snapshot(dtos, Map.copyOf(byId), Map.copyOf(byName));
+    }
+  }
+}
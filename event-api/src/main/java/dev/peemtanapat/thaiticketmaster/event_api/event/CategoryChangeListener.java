@@ -0,0 +1,26 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that turns category writes into CategoryChangedEvents
+ * Instantiated by Hibernate through Spring, so it can be injected
+ */
+public class CategoryChangeListener {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  public CategoryChangeListener(ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+  }
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void onChange(Category category) {
+    eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+  }
+}
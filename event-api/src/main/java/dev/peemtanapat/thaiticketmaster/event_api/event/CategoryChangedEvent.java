@@ -0,0 +1,17 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+/**
+ * Published whenever a category row is inserted, updated or deleted
+ */
+public class CategoryChangedEvent {
+
+  private final Long categoryId;
+
+  public CategoryChangedEvent(Long categoryId) {
+    this.categoryId = categoryId;
+  }
+
+  public Long getCategoryId() {
+    return categoryId;
+  }
+}
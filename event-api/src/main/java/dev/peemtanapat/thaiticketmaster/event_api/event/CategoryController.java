@@ -1,30 +1,28 @@
 package dev.peemtanapat.thaiticketmaster.event_api.event;
 
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventDTO.CategoryDTO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/categories")
 public class CategoryController {
 
-  private final CategoryRepository categoryRepository;
+  private final CategoryCatalog categoryCatalog;
 
-  public CategoryController(CategoryRepository categoryRepository) {
-    this.categoryRepository = categoryRepository;
+  public CategoryController(CategoryCatalog categoryCatalog) {
+    this.categoryCatalog = categoryCatalog;
   }
 
   /**
    * Get all categories
+   * Served from the in-memory category catalog
    */
   @GetMapping
   public ResponseEntity<List<CategoryDTO>> getAllCategories() {
-    List<CategoryDTO> categories = categoryRepository.findAll().stream()
-        .map(CategoryDTO::new)
-        .collect(Collectors.toList());
-    return ResponseEntity.ok(categories);
+    return ResponseEntity.ok(categoryCatalog.getAll());
   }
 
   /**
@@ -32,9 +30,7 @@ public class CategoryController {
    */
   @GetMapping("/{id}")
   public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id) {
-    Category category = categoryRepository.findById(id)
-        .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + id));
-    return ResponseEntity.ok(new CategoryDTO(category));
+    return ResponseEntity.ok(categoryCatalog.getById(id));
   }
 
   /**
@@ -42,48 +38,8 @@ public class CategoryController {
    */
   @GetMapping("/name/{name}")
   public ResponseEntity<CategoryDTO> getCategoryByName(@PathVariable String name) {
-    Category category = categoryRepository.findByName(name)
+    CategoryDTO category = categoryCatalog.findByName(name)
         .orElseThrow(() -> new CategoryNotFoundException("Category not found with name: " + name));
-    return ResponseEntity.ok(new CategoryDTO(category));
-  }
-
-  // Simple DTO for Category
-  static class CategoryDTO {
-    private Long id;
-    private String name;
-    private String description;
-
-    public CategoryDTO() {
-    }
-
-    public CategoryDTO(Category category) {
-      this.id = category.getId();
-      this.name = category.getName();
-      this.description = category.getDescription();
-    }
-
-    public Long getId() {
-      return id;
-    }
-
-    public void setId(Long id) {
-      this.id = id;
-    }
-
-    public String getName() {
-      return name;
-    }
-
-    public void setName(String name) {
-      this.name = name;
-    }
-
-    public String getDescription() {
-      return description;
-    }
-
-    public void setDescription(String description) {
-      this.description = description;
-    }
+    return ResponseEntity.ok(category);
   }
 }
@@ -1,17 +1,22 @@
 package dev.peemtanapat.thaiticketmaster.event_api.event;
 
 import jakarta.persistence.*;
+
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "events", indexes = {
     @Index(name = "idx_event_status", columnList = "event_status"),
-    @Index(name = "idx_on_sale_datetime", columnList = "on_sale_datetime")
+    @Index(name = "idx_on_sale_datetime", columnList = "on_sale_datetime"),
+    // Keyset pages of a category or status list, ordered by id
+    @Index(name = "idx_event_category_id_id", columnList = "category_id, id"),
+    @Index(name = "idx_event_status_id", columnList = "event_status, id")
 })
 public class Event implements Serializable {
 
@@ -62,15 +67,17 @@ public class Event implements Serializable {
   @Column(name = "updated_at")
   private LocalDateTime updatedAt;
 
+  // Truncated to what the column stores, so an entity cached right after a
+  // write carries the same timestamps (and ETag) as one read back later
   @PrePersist
   protected void onCreate() {
-    createdAt = LocalDateTime.now();
-    updatedAt = LocalDateTime.now();
+    createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    updatedAt = createdAt;
   }
 
   @PreUpdate
   protected void onUpdate() {
-    updatedAt = LocalDateTime.now();
+    updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
   }
 
   // Constructors
@@ -0,0 +1,29 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import jakarta.validation.constraints.*;
+import java.util.List;
+
+public class EventBatchRequest {
+
+  @NotEmpty(message = "At least one event ID is required")
+  @Size(max = EventController.MAX_POSTED_BATCH_SIZE, message = "At most " + EventController.MAX_POSTED_BATCH_SIZE
+      + " event IDs can be requested at once")
+  private List<@NotNull(message = "Event IDs must not be null") Long> ids;
+
+  // Constructors
+  public EventBatchRequest() {
+  }
+
+  public EventBatchRequest(List<Long> ids) {
+    this.ids = ids;
+  }
+
+  // Getters and Setters
+  public List<Long> getIds() {
+    return ids;
+  }
+
+  public void setIds(List<Long> ids) {
+    this.ids = ids;
+  }
+}
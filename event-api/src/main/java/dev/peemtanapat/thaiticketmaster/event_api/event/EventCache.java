@@ -0,0 +1,478 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import dev.peemtanapat.thaiticketmaster.event_api.cache.CacheUnavailableException;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.CacheWriteBatch;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.IndexSnapshot;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.MissingValue;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.NearCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Normalized event cache layout
+ * Each event is cached once under event:{id}; list caches are sorted-set ID
+ * indexes resolved with a single MGET. Writes patch the one entry and the
+ * index members it touches instead of dropping whole list blobs.
+ * While Redis is unavailable, lists are read straight from the DB.
+ * Every change also bumps a catalog version, which list ETags are built from.
+ * Lists are loaded from the DB as EventRow projections, never as entities.
+ */
+@Component
+public class EventCache {
+
+  static final String EVENT_CACHE_PREFIX = "event:";
+  // Bumped with every event change, for list ETags; last in its batch, so
+  // a new version is never read before the index patches it stands for
+  static final String CATALOG_VERSION_KEY = "events:version";
+
+  private static final long CACHE_TTL_HOURS = 1;
+  private static final Duration EVENTS_LIST_CACHE_TTL = Duration.ofHours(1);
+  // How long list entries may still be served stale while they are rebuilt
+  private static final Duration LIST_CACHE_STALE_WINDOW = Duration.ofHours(1);
+  // Indexes outlive their stamp so a live stamp never points at a missing index
+  private static final Duration INDEX_TTL_MARGIN = Duration.ofMinutes(5);
+  // Event IDs per row or show time query, well under the driver's bind parameter limit
+  private static final int SHOW_TIME_BATCH_SIZE = 1000;
+
+  // All events scored by id, ON_SALE events scored by on-sale time. The
+  // on-sale list is filtered by time on read and patched by OnSaleScheduler
+  // when sales open, so it lives as long as the others
+  static final ListIndex ALL_EVENTS = new ListIndex("events:all", EVENTS_LIST_CACHE_TTL);
+  static final ListIndex ON_SALE_EVENTS = new ListIndex("events:onsale", EVENTS_LIST_CACHE_TTL);
+
+  private final NearCache nearCache;
+  private final EventRepository eventRepository;
+  private final CategoryCatalog categoryCatalog;
+  private final EventIdFilter eventIdFilter;
+  private final EventSearchIndex eventSearchIndex;
+  private final Duration negativeTtl;
+
+  public EventCache(NearCache nearCache, EventRepository eventRepository, CategoryCatalog categoryCatalog,
+      EventIdFilter eventIdFilter, EventSearchIndex eventSearchIndex,
+      @Value("${event-api.cache.negative-ttl:30s}") Duration negativeTtl) {
+    this.nearCache = nearCache;
+    this.eventRepository = eventRepository;
+    this.categoryCatalog = categoryCatalog;
+    this.eventIdFilter = eventIdFilter;
+    this.eventSearchIndex = eventSearchIndex;
+    this.negativeTtl = negativeTtl;
+    // An index whose changes were lost is rebuilt by evicting its stamp with it
+    nearCache.addDependentKeys(key -> key.endsWith(ListIndex.INDEX_SUFFIX)
+        ? List.of(key.substring(0, key.length() - ListIndex.INDEX_SUFFIX.length()))
+        : List.of());
+  }
+
+  /**
+   * Get one event, loading it from the DB on a miss
+   * IDs the filter knows are missing are rejected up front; other misses
+   * leave a short-lived negative entry so repeats stop at the cache
+   */
+  public EventDTO getEvent(Long id) {
+    if (!eventIdFilter.mightExist(id)) {
+      throw notFound(id);
+    }
+    String key = EVENT_CACHE_PREFIX + id;
+    Object cached = nearCache.getOrLoad(key, CACHE_TTL_HOURS, TimeUnit.HOURS, () -> {
+      Event event = eventRepository.findById(id).orElse(null);
+      if (event == null) {
+        nearCache.fill(key, new MissingValue(), negativeTtl.toMillis(), TimeUnit.MILLISECONDS);
+        throw notFound(id);
+      }
+      return toDTO(event);
+    });
+    if (cached instanceof EventDTO eventDTO) {
+      return eventDTO;
+    }
+    throw notFound(id);
+  }
+
+  /**
+   * Get all events, ordered by id
+   */
+  public List<EventDTO> getAllEvents() {
+    return readList(ALL_EVENTS, eventRepository::findAllRows, EventCache::idScore, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Get ON_SALE events whose on-sale datetime has passed, ordered by on-sale
+   * datetime. The index holds every ON_SALE event, so events cross into the
+   * list on time without a rebuild
+   */
+  public List<EventDTO> getOnSaleEvents() {
+    return readList(ON_SALE_EVENTS,
+        () -> eventRepository.findRowsByEventStatus(EventStatus.ON_SALE),
+        row -> onSaleScore(row.onSaleDateTime()), onSaleScore(LocalDateTime.now()));
+  }
+
+  /**
+   * Get events in a category, ordered by id
+   */
+  public List<EventDTO> getEventsByCategory(Long categoryId) {
+    // Reject unknown categories from the catalog, without a DB read
+    categoryCatalog.getById(categoryId);
+    return readList(categoryIndex(categoryId),
+        () -> eventRepository.findRowsByCategoryId(categoryId), EventCache::idScore, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * Get events with a status, ordered by id
+   */
+  public List<EventDTO> getEventsByStatus(EventStatus status) {
+    return readList(statusIndex(status),
+        () -> eventRepository.findRowsByEventStatus(status), EventCache::idScore, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * One page of all events, ordered by id, after cursor (null for the first)
+   */
+  public EventPage getEventsPage(String cursor, int limit) {
+    return readPage(ALL_EVENTS, eventRepository::findAllRows, cursor, limit, eventRepository::findRowsAfter);
+  }
+
+  /**
+   * One page of a category's events, ordered by id
+   */
+  public EventPage getEventsByCategoryPage(Long categoryId, String cursor, int limit) {
+    categoryCatalog.getById(categoryId);
+    return readPage(categoryIndex(categoryId), () -> eventRepository.findRowsByCategoryId(categoryId), cursor, limit,
+        (afterId, size) -> eventRepository.findRowsByCategoryIdAfter(categoryId, afterId, size));
+  }
+
+  /**
+   * One page of the events with a status, ordered by id
+   */
+  public EventPage getEventsByStatusPage(EventStatus status, String cursor, int limit) {
+    return readPage(statusIndex(status), () -> eventRepository.findRowsByEventStatus(status), cursor, limit,
+        (afterId, size) -> eventRepository.findRowsByEventStatusAfter(status, afterId, size));
+  }
+
+  /**
+   * Version of the event catalog, changed by every event write
+   * Null if it cannot be read right now (Redis unavailable)
+   */
+  public Long getCatalogVersion() {
+    return nearCache.getVersion(CATALOG_VERSION_KEY);
+  }
+
+  /**
+   * How many events getOnSaleEvents would return now, from the on-sale index
+   * alone. Sales open with the passing of time and not only through writes,
+   * so the catalog version alone does not identify that list.
+   * Null if the index cannot be read right now (Redis unavailable)
+   */
+  public Integer countOnSaleEvents() {
+    try {
+      IndexSnapshot index = readIndex(ON_SALE_EVENTS,
+          () -> eventRepository.findRowsByEventStatus(EventStatus.ON_SALE),
+          row -> onSaleScore(row.onSaleDateTime()));
+      return index.idsUpTo(onSaleScore(LocalDateTime.now())).size();
+    } catch (CacheUnavailableException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Resolve event IDs in order: L1, then one MGET, then one DB query for the
+   * rest, which are written back in one pipeline. Unknown IDs are skipped
+   */
+  public List<EventDTO> getEvents(List<Long> ids) {
+    ids = ids.stream().filter(eventIdFilter::mightExist).toList();
+    List<String> keys = ids.stream().map(id -> EVENT_CACHE_PREFIX + id).toList();
+    List<Object> cached = nearCache.multiGet(keys);
+
+    List<Long> missingIds = new ArrayList<>();
+    for (int i = 0; i < ids.size(); i++) {
+      if (cached.get(i) == null) {
+        missingIds.add(ids.get(i));
+      }
+    }
+
+    Map<Long, EventDTO> loaded = new HashMap<>();
+    for (int from = 0; from < missingIds.size(); from += SHOW_TIME_BATCH_SIZE) {
+      List<Long> batchIds = missingIds.subList(from, Math.min(from + SHOW_TIME_BATCH_SIZE, missingIds.size()));
+      Map<String, EventDTO> backfill = new LinkedHashMap<>();
+      for (EventDTO eventDTO : toDTOs(eventRepository.findRowsByIdIn(batchIds))) {
+        loaded.put(eventDTO.getId(), eventDTO);
+        backfill.put(EVENT_CACHE_PREFIX + eventDTO.getId(), eventDTO);
+      }
+      nearCache.fillAll(backfill, CACHE_TTL_HOURS, TimeUnit.HOURS);
+    }
+
+    List<EventDTO> events = new ArrayList<>(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      Object entry = cached.get(i) != null ? cached.get(i) : loaded.get(ids.get(i));
+      if (entry instanceof EventDTO eventDTO) {
+        events.add(eventDTO);
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Cache a newly created event and add it to the indexes, once the
+   * transaction commits
+   */
+  public void eventCreated(EventDTO event) {
+    eventsCreated(List.of(event));
+  }
+
+  /**
+   * Cache newly created events and add them to the list and search indexes,
+   * once the transaction commits, with the catalog version bumped once for all
+   */
+  public void eventsCreated(List<EventDTO> events) {
+    nearCache.afterCommit(batch -> {
+      eventIdFilter.addAll(events.stream().map(EventDTO::getId).toList());
+      for (EventDTO event : events) {
+        Long id = event.getId();
+        eventSearchIndex.put(event);
+        batch.put(EVENT_CACHE_PREFIX + id, event, CACHE_TTL_HOURS, TimeUnit.HOURS);
+        addToIndex(batch, ALL_EVENTS, id, idScore(id));
+        addToIndex(batch, categoryIndex(event.getCategory().getId()), id, idScore(id));
+        addToIndex(batch, statusIndex(event.getEventStatus()), id, idScore(id));
+        if (event.getEventStatus() == EventStatus.ON_SALE) {
+          addToIndex(batch, ON_SALE_EVENTS, id, onSaleScore(event.getOnSaleDateTime()));
+        }
+      }
+      batch.bumpVersion(CATALOG_VERSION_KEY);
+    });
+  }
+
+  /**
+   * Replace the cached and search-indexed event, and patch only the list
+   * indexes it moved into or out of, once the transaction commits
+   */
+  public void eventUpdated(EventDTO before, EventDTO after) {
+    Long id = after.getId();
+    nearCache.afterCommit(batch -> {
+      eventSearchIndex.put(after);
+      batch.put(EVENT_CACHE_PREFIX + id, after, CACHE_TTL_HOURS, TimeUnit.HOURS);
+
+      Long oldCategoryId = before.getCategory().getId();
+      Long newCategoryId = after.getCategory().getId();
+      if (!oldCategoryId.equals(newCategoryId)) {
+        batch.removeFromIndex(categoryIndex(oldCategoryId).indexKey(), id);
+        addToIndex(batch, categoryIndex(newCategoryId), id, idScore(id));
+      }
+
+      if (before.getEventStatus() != after.getEventStatus()) {
+        batch.removeFromIndex(statusIndex(before.getEventStatus()).indexKey(), id);
+        addToIndex(batch, statusIndex(after.getEventStatus()), id, idScore(id));
+      }
+
+      boolean wasOnSale = before.getEventStatus() == EventStatus.ON_SALE;
+      boolean isOnSale = after.getEventStatus() == EventStatus.ON_SALE;
+      if (isOnSale && (!wasOnSale || !Objects.equals(before.getOnSaleDateTime(), after.getOnSaleDateTime()))) {
+        addToIndex(batch, ON_SALE_EVENTS, id, onSaleScore(after.getOnSaleDateTime()));
+      } else if (wasOnSale && !isOnSale) {
+        batch.removeFromIndex(ON_SALE_EVENTS.indexKey(), id);
+      }
+      batch.bumpVersion(CATALOG_VERSION_KEY);
+    });
+  }
+
+  /**
+   * Evict a deleted event and remove it from the list and search indexes,
+   * once the transaction commits
+   */
+  public void eventDeleted(EventDTO event) {
+    Long id = event.getId();
+    nearCache.afterCommit(batch -> {
+      eventIdFilter.remove(id);
+      eventSearchIndex.remove(id);
+      batch.evict(EVENT_CACHE_PREFIX + id);
+      batch.removeFromIndex(ALL_EVENTS.indexKey(), id);
+      batch.removeFromIndex(categoryIndex(event.getCategory().getId()).indexKey(), id);
+      batch.removeFromIndex(statusIndex(event.getEventStatus()).indexKey(), id);
+      if (event.getEventStatus() == EventStatus.ON_SALE) {
+        batch.removeFromIndex(ON_SALE_EVENTS.indexKey(), id);
+      }
+      batch.bumpVersion(CATALOG_VERSION_KEY);
+    });
+  }
+
+  /**
+   * Events of a list with a score up to maxScore, ordered by score
+   * Resolved through the cached index, or read from the DB if Redis is
+   * unavailable and the index is not in L1
+   */
+  private List<EventDTO> readList(ListIndex list, Supplier<List<EventRow>> loader,
+      ToDoubleFunction<EventRow> score, double maxScore) {
+    IndexSnapshot index;
+    try {
+      index = readIndex(list, loader, score);
+    } catch (CacheUnavailableException e) {
+      return toDTOs(loader.get().stream()
+          .filter(row -> score.applyAsDouble(row) <= maxScore)
+          .sorted(Comparator.comparingDouble(score).thenComparing(EventRow::id))
+          .toList());
+    }
+    return getEvents(index.idsUpTo(maxScore));
+  }
+
+  /**
+   * One keyset page of an id-ordered list: the IDs after the cursor's come
+   * from the cached index and the events from the event cache. If Redis is
+   * unavailable, pageLoader reads just that page from the DB instead.
+   * One extra ID is read to tell whether another page follows
+   */
+  private EventPage readPage(ListIndex list, Supplier<List<EventRow>> loader, String cursor, int limit,
+      BiFunction<Long, Limit, List<EventRow>> pageLoader) {
+    long afterId = EventCursor.decode(list.stampKey(), cursor);
+    List<Long> ids;
+    try {
+      ids = readIndex(list, loader, EventCache::idScore).idsAfter(idScore(afterId), limit + 1);
+    } catch (CacheUnavailableException e) {
+      List<EventRow> rows = pageLoader.apply(afterId, Limit.of(limit + 1));
+      String nextCursor = rows.size() > limit
+          ? EventCursor.encode(list.stampKey(), rows.get(limit - 1).id())
+          : null;
+      return new EventPage(toDTOs(rows.subList(0, Math.min(limit, rows.size()))), nextCursor);
+    }
+    String nextCursor = ids.size() > limit ? EventCursor.encode(list.stampKey(), ids.get(limit - 1)) : null;
+    return new EventPage(getEvents(ids.subList(0, Math.min(limit, ids.size()))), nextCursor);
+  }
+
+  /**
+   * Make sure the index is built (rebuilding it in the background once its
+   * stamp goes stale) and return its current members
+   */
+  private IndexSnapshot readIndex(ListIndex list, Supplier<List<EventRow>> loader,
+      ToDoubleFunction<EventRow> score) {
+    nearCache.getOrRefresh(list.stampKey(), list.ttl(), list.hardTtl(), () -> {
+      // Cache each loaded event too, after the index transaction is done, as
+      // fills: the rows are unchanged, so there is nothing to broadcast
+      Map<String, EventDTO> entries = new LinkedHashMap<>();
+      Integer size = nearCache.rebuildIndex(list.indexKey(), () -> {
+        List<EventRow> rows = loader.get();
+        Map<Long, Double> members = new HashMap<>();
+        for (EventRow row : rows) {
+          members.put(row.id(), score.applyAsDouble(row));
+        }
+        for (EventDTO eventDTO : toDTOs(rows)) {
+          entries.put(EVENT_CACHE_PREFIX + eventDTO.getId(), eventDTO);
+        }
+        return members;
+      }, list.indexTtl());
+      nearCache.fillAll(entries, CACHE_TTL_HOURS, TimeUnit.HOURS);
+      return size;
+    });
+    return nearCache.getIndex(list.indexKey());
+  }
+
+  // Share the catalog's category DTOs instead of building one per event
+  private EventDTO toDTO(Event event) {
+    EventDTO.CategoryDTO category = categoryCatalog.findById(event.getCategory().getId())
+        .orElseGet(() -> new EventDTO.CategoryDTO(event.getCategory()));
+    return new EventDTO(event, category);
+  }
+
+  /**
+   * Build DTOs from projected rows, in row order, with their show times
+   * read in batches of IDs and categories shared from the catalog
+   */
+  private List<EventDTO> toDTOs(List<EventRow> rows) {
+    Map<Long, List<OffsetDateTime>> showTimes = new HashMap<>();
+    for (int from = 0; from < rows.size(); from += SHOW_TIME_BATCH_SIZE) {
+      List<Long> ids = rows.subList(from, Math.min(from + SHOW_TIME_BATCH_SIZE, rows.size())).stream()
+          .map(EventRow::id)
+          .toList();
+      for (EventShowTime showTime : eventRepository.findShowTimes(ids)) {
+        showTimes.computeIfAbsent(showTime.eventId(), id -> new ArrayList<>()).add(showTime.showDateTime());
+      }
+    }
+
+    List<EventDTO> events = new ArrayList<>(rows.size());
+    for (EventRow row : rows) {
+      EventDTO.CategoryDTO category = categoryCatalog.findById(row.categoryId())
+          .orElseGet(() -> new EventDTO.CategoryDTO(row.categoryId(), row.categoryName(), row.categoryDescription()));
+      events.add(new EventDTO(row, category, showTimes.getOrDefault(row.id(), List.of())));
+    }
+    return events;
+  }
+
+  /**
+   * IDs of the event entries among cache keys; other keys are skipped
+   */
+  static List<Long> eventIds(Collection<String> keys) {
+    List<Long> ids = new ArrayList<>();
+    for (String key : keys) {
+      if (key.startsWith(EVENT_CACHE_PREFIX)) {
+        try {
+          ids.add(Long.parseLong(key.substring(EVENT_CACHE_PREFIX.length())));
+        } catch (NumberFormatException e) {
+          // Not an event entry
+        }
+      }
+    }
+    return ids;
+  }
+
+  private static EventNotFoundException notFound(Long id) {
+    return new EventNotFoundException("Event not found with id: " + id);
+  }
+
+  private static void addToIndex(CacheWriteBatch batch, ListIndex list, Long id, double score) {
+    batch.addToIndex(list.indexKey(), id, score, list.indexTtl());
+  }
+
+  static ListIndex categoryIndex(Long categoryId) {
+    return new ListIndex("events:category:" + categoryId, EVENTS_LIST_CACHE_TTL);
+  }
+
+  static ListIndex statusIndex(EventStatus status) {
+    return new ListIndex("events:status:" + status, EVENTS_LIST_CACHE_TTL);
+  }
+
+  private static double idScore(EventRow row) {
+    return idScore(row.id());
+  }
+
+  private static double idScore(Long id) {
+    return id.doubleValue();
+  }
+
+  // On-sale datetimes are naive, so compare them as UTC epoch seconds on both sides
+  static double onSaleScore(LocalDateTime onSaleDateTime) {
+    return onSaleDateTime.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  /**
+   * A cached list: an SWR stamp marking when it was last rebuilt, and the
+   * sorted-set ID index it stands for
+   */
+  record ListIndex(String stampKey, Duration ttl) {
+
+    static final String INDEX_SUFFIX = ":ids";
+
+    String indexKey() {
+      return stampKey + INDEX_SUFFIX;
+    }
+
+    Duration hardTtl() {
+      return ttl.plus(LIST_CACHE_STALE_WINDOW);
+    }
+
+    Duration indexTtl() {
+      return hardTtl().plus(INDEX_TTL_MARGIN);
+    }
+  }
+}
@@ -1,73 +1,211 @@
 package dev.peemtanapat.thaiticketmaster.event_api.event;
 
+import dev.peemtanapat.thaiticketmaster.event_api.cache.ResponseBodyCache;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/events")
 public class EventController {
 
+  // Sent by startup warm-up requests, which should not count as views
+  public static final String WARM_UP_HEADER = "X-Warm-Up";
+
+  // Upper bound on IDs per GET ?ids= lookup, which must fit in a URL
+  static final int MAX_BATCH_SIZE = 100;
+
+  // Upper bound on IDs per POST /batch lookup; one DB query loads the misses
+  static final int MAX_POSTED_BATCH_SIZE = 1000;
+
+  // Upper bound on events per page
+  static final int MAX_PAGE_SIZE = 100;
+
+  // Upper bound on search query length
+  static final int MAX_QUERY_LENGTH = 200;
+
   private final EventService eventService;
+  private final EventViewCounter eventViewCounter;
+  private final ResponseBodyCache responseBodyCache;
+  private final EventImporter eventImporter;
 
-  public EventController(EventService eventService) {
+  public EventController(EventService eventService, EventViewCounter eventViewCounter,
+      ResponseBodyCache responseBodyCache, EventImporter eventImporter) {
     this.eventService = eventService;
+    this.eventViewCounter = eventViewCounter;
+    this.responseBodyCache = responseBodyCache;
+    this.eventImporter = eventImporter;
   }
 
   /**
    * Get all events
+   * Answers 304 when If-None-Match still matches, without reading the list
+   * The body is serialized, and compressed, once per catalog version
    * User endpoint
    */
   @GetMapping
-  public ResponseEntity<List<EventDTO>> getAllEvents() {
-    List<EventDTO> events = eventService.getAllEvents();
+  public ResponseEntity<byte[]> getAllEvents(ServletWebRequest request) {
+    return listResponse(request, EventCache.ALL_EVENTS.stampKey(), this::listETag, eventService::getAllEvents);
+  }
+
+  /**
+   * Get one page of all events, ordered by id, e.g. ?limit=50, then
+   * ?limit=50&cursor={nextCursor} for the next
+   * Each page is cached on its own, per catalog version
+   * User endpoint
+   */
+  @GetMapping(params = { "limit", "!ids" })
+  public ResponseEntity<byte[]> getEventsPage(
+      @RequestParam @Min(value = 1, message = "limit must be at least 1")
+      @Max(value = MAX_PAGE_SIZE, message = "At most " + MAX_PAGE_SIZE + " events fit in a page") int limit,
+      @RequestParam(required = false) String cursor, ServletWebRequest request) {
+    return listResponse(request, pageName(EventCache.ALL_EVENTS.stampKey(), limit, cursor), this::listETag,
+        () -> eventService.getEventsPage(cursor, limit));
+  }
+
+  /**
+   * Get several events by ID in one call, e.g. ?ids=1,2,3
+   * Returned in request order; unknown IDs are left out
+   * User endpoint
+   */
+  @GetMapping(params = "ids")
+  public ResponseEntity<List<EventDTO>> getEventsByIds(
+      @RequestParam @Size(max = MAX_BATCH_SIZE, message = "At most " + MAX_BATCH_SIZE
+          + " event IDs can be requested at once") List<Long> ids) {
+    List<EventDTO> events = eventService.getEventsByIds(ids);
+    return ResponseEntity.ok(events);
+  }
+
+  /**
+   * Get several events by ID, for ID lists too long for a query string
+   * Same as GET ?ids=, with a higher limit
+   * User endpoint
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<List<EventDTO>> getEventsByIds(@Valid @RequestBody EventBatchRequest request) {
+    List<EventDTO> events = eventService.getEventsByIds(request.getIds());
+    return ResponseEntity.ok(events);
+  }
+
+  /**
+   * Full-text search in Thai or English, e.g. ?q=คอนเสิร์ต&limit=10
+   * Matches name, category, location and detail; best match first. A query
+   * without words finds nothing
+   * User endpoint
+   */
+  @GetMapping("/search")
+  public ResponseEntity<List<EventDTO>> searchEvents(
+      @RequestParam(defaultValue = "") @Size(max = MAX_QUERY_LENGTH, message = "Search query must be at most " + MAX_QUERY_LENGTH
+          + " characters") String q,
+      @RequestParam(defaultValue = "20") @Min(value = 1, message = "limit must be at least 1")
+      @Max(value = MAX_PAGE_SIZE, message = "At most " + MAX_PAGE_SIZE + " events fit in a page") int limit) {
+    List<EventDTO> events = eventService.searchEvents(q, limit);
     return ResponseEntity.ok(events);
   }
 
   /**
    * Get event by ID
+   * The JSON body is serialized once per version of the event
    * User endpoint
    */
   @GetMapping("/{id}")
-  public ResponseEntity<EventDTO> getEventById(@PathVariable Long id) {
+  public ResponseEntity<byte[]> getEventById(@PathVariable Long id,
+      @RequestHeader(name = WARM_UP_HEADER, required = false) String warmUp, WebRequest request) {
     EventDTO event = eventService.getEventById(id);
-    return ResponseEntity.ok(event);
+    if (warmUp == null) {
+      eventViewCounter.record(id);
+    }
+    String eTag = EventETags.forEvent(event);
+    if (notModified(request, eTag)) {
+      return null;
+    }
+    return json(responseBodyCache.getJson(EventCache.EVENT_CACHE_PREFIX + id, eTag, () -> event));
   }
 
   /**
    * Get events that are open to buy tickets
    * Ordered by show date (earliest first)
+   * Answers 304 when If-None-Match still matches, without reading the list
+   * The body is serialized, and compressed, once per version of the list
    * User endpoint
    */
   @GetMapping("/on-sale")
-  public ResponseEntity<List<EventDTO>> getOnSaleEvents() {
-    List<EventDTO> events = eventService.getOnSaleEvents();
-    return ResponseEntity.ok(events);
+  public ResponseEntity<byte[]> getOnSaleEvents(ServletWebRequest request) {
+    return listResponse(request, EventCache.ON_SALE_EVENTS.stampKey(),
+        () -> EventETags.forOnSaleList(eventService.getCatalogVersion(), eventService.countOnSaleEvents()),
+        eventService::getOnSaleEvents);
   }
 
   /**
    * Get events by category
+   * The category is checked before If-None-Match, so a missing one is a 404
+   * rather than a 304
    * User endpoint
    */
   @GetMapping("/category/{categoryId}")
-  public ResponseEntity<List<EventDTO>> getEventsByCategory(@PathVariable Long categoryId) {
+  public ResponseEntity<List<EventDTO>> getEventsByCategory(@PathVariable Long categoryId, WebRequest request) {
+    eventService.requireCategory(categoryId);
+    if (notModified(request, EventETags.forList(eventService.getCatalogVersion()))) {
+      return null;
+    }
     List<EventDTO> events = eventService.getEventsByCategory(categoryId);
     return ResponseEntity.ok(events);
   }
 
+  /**
+   * Get one page of a category's events, ordered by id; paged like GET ?limit=
+   * User endpoint
+   */
+  @GetMapping(value = "/category/{categoryId}", params = "limit")
+  public ResponseEntity<byte[]> getEventsByCategoryPage(@PathVariable Long categoryId,
+      @RequestParam @Min(value = 1, message = "limit must be at least 1")
+      @Max(value = MAX_PAGE_SIZE, message = "At most " + MAX_PAGE_SIZE + " events fit in a page") int limit,
+      @RequestParam(required = false) String cursor, ServletWebRequest request) {
+    eventService.requireCategory(categoryId);
+    return listResponse(request, pageName(EventCache.categoryIndex(categoryId).stampKey(), limit, cursor),
+        this::listETag, () -> eventService.getEventsByCategoryPage(categoryId, cursor, limit));
+  }
+
   /**
    * Get events by status
    * User endpoint
    */
   @GetMapping("/status/{status}")
-  public ResponseEntity<List<EventDTO>> getEventsByStatus(@PathVariable EventStatus status) {
+  public ResponseEntity<List<EventDTO>> getEventsByStatus(@PathVariable EventStatus status, WebRequest request) {
+    if (notModified(request, EventETags.forList(eventService.getCatalogVersion()))) {
+      return null;
+    }
     List<EventDTO> events = eventService.getEventsByStatus(status);
     return ResponseEntity.ok(events);
   }
 
+  /**
+   * Get one page of the events with a status, ordered by id; paged like
+   * GET ?limit=
+   * User endpoint
+   */
+  @GetMapping(value = "/status/{status}", params = "limit")
+  public ResponseEntity<byte[]> getEventsByStatusPage(@PathVariable EventStatus status,
+      @RequestParam @Min(value = 1, message = "limit must be at least 1")
+      @Max(value = MAX_PAGE_SIZE, message = "At most " + MAX_PAGE_SIZE + " events fit in a page") int limit,
+      @RequestParam(required = false) String cursor, ServletWebRequest request) {
+    return listResponse(request, pageName(EventCache.statusIndex(status).stampKey(), limit, cursor),
+        this::listETag, () -> eventService.getEventsByStatusPage(status, cursor, limit));
+  }
+
   /**
    * Create a new event
    * Admin endpoint - TODO: Add admin role security
@@ -78,6 +216,27 @@ public class EventController {
     return ResponseEntity.status(HttpStatus.CREATED).body(createdEvent);
   }
 
+  /**
+   * Import events in bulk from NDJSON, one create request object per line
+   * The body is read as a stream; rows that fail are listed in the result
+   * and the others are still imported
+   * Admin endpoint - TODO: Add admin role security
+   */
+  @PostMapping(value = "/import", consumes = EventImporter.NDJSON)
+  public ResponseEntity<EventImportResult> importEventsNdjson(InputStream body) throws IOException {
+    return ResponseEntity.ok(eventImporter.importNdjson(body));
+  }
+
+  /**
+   * Import events in bulk from CSV, with a header row naming the create
+   * request fields and show times separated by ';'
+   * Admin endpoint - TODO: Add admin role security
+   */
+  @PostMapping(value = "/import", consumes = EventImporter.CSV)
+  public ResponseEntity<EventImportResult> importEventsCsv(InputStream body) throws IOException {
+    return ResponseEntity.ok(eventImporter.importCsv(body));
+  }
+
   /**
    * Update an existing event
    * Admin endpoint - TODO: Add admin role security
@@ -100,11 +259,51 @@ public class EventController {
     return ResponseEntity.noContent().build();
   }
 
-  // Future feature: Full-text search using Elasticsearch
-  // @GetMapping("/search")
-  // public ResponseEntity<List<EventDTO>> searchEvents(@RequestParam String
-  // query) {
-  // List<EventDTO> events = eventService.searchEventsByName(query);
-  // return ResponseEntity.ok(events);
-  // }
+  // Sets the ETag header, and the 304 status when If-None-Match matches it;
+  // a handler that gets true returns no body
+  private static boolean notModified(WebRequest request, String eTag) {
+    return eTag != null && request.checkNotModified(eTag);
+  }
+
+  /**
+   * A catalog list or page in the content coding the client accepts, or a 304
+   * Every variant of a version is built once and cached; see ResponseBodyCache
+   * The ETag is read again after a build, and a body whose list changed
+   * meanwhile is not cached under the older ETag
+   */
+  private ResponseEntity<byte[]> listResponse(ServletWebRequest request, String name,
+      Supplier<String> listETag, Supplier<?> list) {
+    String eTag = listETag.get();
+    // On every response, 304s included, so shared caches key on it too
+    request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    // Without a version nothing is cached, so nothing is compressed either
+    String encoding = eTag == null ? null
+        : responseBodyCache.negotiateEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    if (notModified(request, EventETags.forEncoding(eTag, encoding))) {
+      return null;
+    }
+    byte[] body = responseBodyCache.getEncoded(name, eTag, encoding, list, listETag);
+    if (encoding == null) {
+      return json(body);
+    }
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.CONTENT_ENCODING, encoding)
+        .body(body);
+  }
+
+  // Response cache name of one page; the cursor already names its list
+  private static String pageName(String list, int limit, String cursor) {
+    return list + ":page:" + limit + ":" + (cursor == null ? "" : cursor);
+  }
+
+  // ETag of a catalog list or page
+  private String listETag() {
+    return EventETags.forList(eventService.getCatalogVersion());
+  }
+
+  // Pre-serialized JSON, written to the response as is
+  private static ResponseEntity<byte[]> json(byte[] body) {
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
 }
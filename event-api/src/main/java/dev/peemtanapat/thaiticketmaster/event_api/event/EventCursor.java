@@ -0,0 +1,43 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors for paginated event lists
+ * A cursor names the list it came from and the last ID of its page, encoded
+ * so clients treat it as a token. A cursor from one list is rejected by
+ * another.
+ */
+final class EventCursor {
+
+  private static final char SEPARATOR = '|';
+
+  private EventCursor() {
+  }
+
+  static String encode(String list, long lastId) {
+    byte[] raw = (list + SEPARATOR + lastId).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+  }
+
+  /**
+   * The last ID of the previous page, or 0 (before any ID) for no cursor
+   */
+  static long decode(String list, String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return 0L;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      if (separator < 0 || !raw.substring(0, separator).equals(list)) {
+        throw new InvalidCursorException("Cursor does not belong to this list");
+      }
+      return Long.parseLong(raw.substring(separator + 1));
+    } catch (IllegalArgumentException e) {
+      // Also NumberFormatException
+      throw new InvalidCursorException("Malformed cursor");
+    }
+  }
+}
@@ -28,9 +28,17 @@ public class EventDTO implements Serializable {
   }
 
   public EventDTO(Event event) {
+    this(event, new CategoryDTO(event.getCategory()));
+  }
+
+  /**
+   * Build from an event whose category DTO is already at hand, e.g. from the
+   * category catalog, so the category itself is never read
+   */
+  public EventDTO(Event event, CategoryDTO category) {
     this.id = event.getId();
     this.name = event.getName();
-    this.category = new CategoryDTO(event.getCategory());
+    this.category = category;
     // Create a new ArrayList to avoid lazy initialization issues during
     // serialization
     this.showDateTimes = event.getShowDateTimes() != null
@@ -47,6 +55,25 @@ public class EventDTO implements Serializable {
     this.updatedAt = event.getUpdatedAt();
   }
 
+  /**
+   * Build from a projected row and its show times, without an entity
+   */
+  public EventDTO(EventRow row, CategoryDTO category, List<OffsetDateTime> showDateTimes) {
+    this.id = row.id();
+    this.name = row.name();
+    this.category = category;
+    this.showDateTimes = new java.util.ArrayList<OffsetDateTime>(showDateTimes);
+    this.location = row.location();
+    this.onSaleDateTime = row.onSaleDateTime();
+    this.ticketPrice = row.ticketPrice();
+    this.detail = row.detail();
+    this.condition = row.condition();
+    this.eventStatus = row.eventStatus();
+    this.gateOpen = row.gateOpen();
+    this.createdAt = row.createdAt();
+    this.updatedAt = row.updatedAt();
+  }
+
   // Getters and Setters
   public Long getId() {
     return id;
@@ -169,6 +196,12 @@ public class EventDTO implements Serializable {
       this.description = category.getDescription();
     }
 
+    public CategoryDTO(Long id, String name, String description) {
+      this.id = id;
+      this.name = name;
+      this.description = description;
+    }
+
     public Long getId() {
       return id;
     }
@@ -0,0 +1,56 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Strong ETags for event responses, built without touching the DB
+ * A single event is tagged by its id and updatedAt, both carried in the
+ * cached entry; lists are tagged by the catalog version. Each builder
+ * returns null when there is nothing to build from, and then the response
+ * simply has no ETag.
+ */
+final class EventETags {
+
+  private EventETags() {
+  }
+
+  static String forEvent(EventDTO event) {
+    if (event.getUpdatedAt() == null) {
+      return null;
+    }
+    long micros = ChronoUnit.MICROS.between(Instant.EPOCH, event.getUpdatedAt().toInstant(ZoneOffset.UTC));
+    return quote("e" + event.getId() + "-" + Long.toString(micros, 36));
+  }
+
+  static String forList(Long catalogVersion) {
+    return catalogVersion == null ? null : quote("l" + Long.toString(catalogVersion, 36));
+  }
+
+  /**
+   * The on-sale list also changes as sales open, with no write to bump the
+   * version, so it is tagged by how many events are open too
+   */
+  static String forOnSaleList(Long catalogVersion, Integer onSaleCount) {
+    if (catalogVersion == null || onSaleCount == null) {
+      return null;
+    }
+    return quote("s" + Long.toString(catalogVersion, 36) + "-" + onSaleCount);
+  }
+
+  /**
+   * A compressed body is a different representation, so it needs its own
+   * strong ETag; encoding null is the uncompressed one
+   */
+  static String forEncoding(String eTag, String encoding) {
+    if (eTag == null || encoding == null) {
+      return eTag;
+    }
+    return eTag.substring(0, eTag.length() - 1) + "-" + encoding + "\"";
+  }
+
+  private static String quote(String tag) {
+    return "\"" + tag + "\"";
+  }
+}
@@ -0,0 +1,194 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import dev.peemtanapat.thaiticketmaster.event_api.cache.NearCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory bitmap of existing event IDs, so lookups for IDs that were never
+ * created, or were deleted here, are rejected without Redis or the DB.
+ * Exact rather than a Bloom filter, since IDs are dense identity values.
+ * Never gives a false "missing": IDs above the highest one seen at load time,
+ * and IDs touched on other instances, are always let through. Lookups never
+ * wait for the load: until it is done every ID is let through, and a failed
+ * load is not retried before the retry interval has passed.
+ */
+@Component
+public class EventIdFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(EventIdFilter.class);
+
+  private final EventRepository eventRepository;
+  private final Duration retryInterval;
+  private final ExecutorService loadExecutor;
+  private final AtomicBoolean loading = new AtomicBoolean();
+
+  // Copy-on-write; null until loaded
+  private volatile long[] words;
+  private volatile long highWatermark;
+  // When the last load failed, in System.nanoTime; 0 if it did not
+  private volatile long failedAt;
+
+  public EventIdFilter(EventRepository eventRepository, NearCache nearCache,
+      @Value("${event-api.cache.id-filter.retry-interval:30s}") Duration retryInterval) {
+    this.eventRepository = eventRepository;
+    this.retryInterval = retryInterval;
+    this.loadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "event-id-filter-load");
+      thread.setDaemon(true);
+      return thread;
+    });
+    // Any event key touched on another instance may be a new event there
+    nearCache.addRemoteInvalidationListener(keys -> addAll(EventCache.eventIds(keys)));
+  }
+
+  /**
+   * False only if the event certainly does not exist
+   */
+  public boolean mightExist(Long id) {
+    if (id == null || id <= 0) {
+      return false;
+    }
+    long[] current = words;
+    if (current == null) {
+      loadInBackground();
+      return true;
+    }
+    if (id > highWatermark) {
+      return true;
+    }
+    int index = (int) (id >>> 6);
+    return index < current.length && (current[index] & (1L << id)) != 0;
+  }
+
+  /**
+   * Mark an ID as existing
+   * IDs above the watermark already pass, so the bitmap never grows here
+   */
+  public void add(Long id) {
+    addAll(List.of(id));
+  }
+
+  /**
+   * Mark IDs as existing, copying the bitmap at most once
+   * IDs already marked cost no copy, so repeated broadcasts stay cheap
+   */
+  public synchronized void addAll(Collection<Long> ids) {
+    long[] current = words;
+    if (current == null) {
+      return;
+    }
+    long[] updated = null;
+    for (Long id : ids) {
+      if (id <= 0 || id > highWatermark) {
+        continue;
+      }
+      int index = (int) (id >>> 6);
+      if ((current[index] & (1L << id)) != 0) {
+        continue;
+      }
+      if (updated == null) {
+        updated = current.clone();
+      }
+      updated[index] |= 1L << id;
+    }
+    if (updated != null) {
+      words = updated;
+    }
+  }
+
+  public synchronized void remove(Long id) {
+    long[] current = words;
+    if (current == null || id <= 0 || id > highWatermark) {
+      return;
+    }
+    int index = (int) (id >>> 6);
+    if ((current[index] & (1L << id)) == 0) {
+      return;
+    }
+    long[] updated = current.clone();
+    updated[index] &= ~(1L << id);
+    words = updated;
+  }
+
+  /**
+   * Load the bitmap now, e.g. during warm-up, rather than in the background
+   * after the first lookup
+   */
+  public void load() {
+    loadWords();
+  }
+
+  /**
+   * Drop the bitmap; the next lookup starts reloading it
+   */
+  public synchronized void invalidate() {
+    words = null;
+    failedAt = 0;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    loadExecutor.shutdownNow();
+  }
+
+  // At most one load runs or waits at a time, and none within the retry
+  // interval of a failed one
+  private void loadInBackground() {
+    long failed = failedAt;
+    if (failed != 0 && System.nanoTime() - failed < retryInterval.toNanos()) {
+      return;
+    }
+    if (!loading.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      loadExecutor.execute(() -> {
+        try {
+          loadWords();
+        } finally {
+          loading.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      loading.set(false);
+    }
+  }
+
+  // Holding the lock while loading orders add/remove calls after the load
+  private synchronized long[] loadWords() {
+    if (words != null) {
+      return words;
+    }
+    List<Long> ids;
+    try {
+      ids = eventRepository.findAllIds();
+    } catch (RuntimeException e) {
+      // Let every lookup through until a load succeeds
+      log.warn("Failed to load event IDs; retrying in {}", retryInterval, e);
+      failedAt = System.nanoTime();
+      return null;
+    }
+
+    long max = ids.stream().mapToLong(Long::longValue).max().orElse(0);
+    long[] loaded = new long[(int) (max >>> 6) + 1];
+    for (Long id : ids) {
+      loaded[(int) (id >>> 6)] |= 1L << id;
+    }
+    highWatermark = max;
+    words = loaded;
+    failedAt = 0;
+    return loaded;
+  }
+}
@@ -0,0 +1,57 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk event import
+ * Rows are numbered from 1 in upload order, not counting a CSV header or
+ * blank lines. Only the first MAX_REPORTED_ERRORS errors are listed; failed
+ * counts all of them
+ */
+public class EventImportResult {
+
+  static final int MAX_REPORTED_ERRORS = 1000;
+
+  private int received;
+  private int imported;
+  private int failed;
+  private final List<RowError> errors = new ArrayList<>();
+
+  public int getReceived() {
+    return received;
+  }
+
+  public int getImported() {
+    return imported;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public List<RowError> getErrors() {
+    return errors;
+  }
+
+  void addReceived() {
+    received++;
+  }
+
+  void addImported(int count) {
+    imported += count;
+  }
+
+  void addError(int row, String message) {
+    failed++;
+    if (errors.size() < MAX_REPORTED_ERRORS) {
+      errors.add(new RowError(row, message));
+    }
+  }
+
+  /**
+   * Why one row was not imported
+   */
+  public record RowError(int row, String message) {
+  }
+}
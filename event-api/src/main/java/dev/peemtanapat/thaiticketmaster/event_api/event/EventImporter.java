@@ -0,0 +1,273 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk event import from NDJSON or CSV
+ * Rows are read as a stream and handled in chunks. Each chunk is validated,
+ * given IDs from one sequence call, inserted with JDBC batches in its own
+ * transaction, and written to the caches in one pipeline after it commits.
+ * A bad row is reported and skipped; a chunk the DB rejects is reported row
+ * by row. Either way the rest of the upload is still imported.
+ */
+@Component
+public class EventImporter {
+
+  private static final Logger log = LoggerFactory.getLogger(EventImporter.class);
+
+  public static final String NDJSON = "application/x-ndjson";
+  public static final String CSV = "text/csv";
+
+  // Show times within one CSV field
+  static final String CSV_LIST_SEPARATOR = ";";
+
+  // One round trip for a whole chunk's IDs, from the sequence behind events.id
+  private static final String NEXT_IDS_SQL =
+      "SELECT nextval(pg_get_serial_sequence('events', 'id')) FROM generate_series(1, ?)";
+  private static final String INSERT_EVENT_SQL =
+      "INSERT INTO events (id, name, category_id, location, on_sale_datetime, ticket_price, detail, condition, "
+          + "event_status, gate_open, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String INSERT_SHOW_TIME_SQL =
+      "INSERT INTO event_show_times (event_id, show_datetime) VALUES (?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final CsvMapper csvMapper = new CsvMapper();
+  private final Validator validator;
+  private final CategoryCatalog categoryCatalog;
+  private final EventCache eventCache;
+  private final OnSaleScheduler onSaleScheduler;
+  private final int chunkSize;
+
+  public EventImporter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+      ObjectMapper objectMapper, Validator validator, CategoryCatalog categoryCatalog, EventCache eventCache,
+      OnSaleScheduler onSaleScheduler,
+      @Value("${event-api.import.chunk-size:500}") int chunkSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.categoryCatalog = categoryCatalog;
+    this.eventCache = eventCache;
+    this.onSaleScheduler = onSaleScheduler;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Import one EventCreateRequest JSON object per line
+   */
+  public EventImportResult importNdjson(InputStream input) throws IOException {
+    Upload upload = new Upload();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        int row = upload.nextRow();
+        try {
+          upload.add(row, objectMapper.readValue(line, EventCreateRequest.class));
+        } catch (JsonProcessingException e) {
+          upload.reject(row, "Invalid row: " + e.getOriginalMessage());
+        }
+      }
+    }
+    return upload.finish();
+  }
+
+  /**
+   * Import CSV with a header row naming EventCreateRequest fields; show times
+   * are separated by ';' within their field
+   * Malformed CSV stops the import at that row, keeping the rows before it
+   */
+  public EventImportResult importCsv(InputStream input) throws IOException {
+    Upload upload = new Upload();
+    CsvSchema schema = CsvSchema.emptySchema().withHeader();
+    try (MappingIterator<Map<String, String>> rows = csvMapper.readerForMapOf(String.class).with(schema)
+        .readValues(input)) {
+      while (rows.hasNextValue()) {
+        Map<String, String> fields = rows.nextValue();
+        int row = upload.nextRow();
+        try {
+          upload.add(row, fromCsv(fields));
+        } catch (IllegalArgumentException e) {
+          upload.reject(row, "Invalid value: " + originalMessage(e));
+        }
+      }
+    } catch (JsonProcessingException e) {
+      upload.reject(upload.rows + 1, "Malformed CSV, the rest of the upload was not read: " + e.getOriginalMessage());
+    }
+    return upload.finish();
+  }
+
+  // CSV fields are all text: blank ones are left out, so optional fields stay
+  // null, and the show times field is split into a list
+  private EventCreateRequest fromCsv(Map<String, String> fields) {
+    Map<String, Object> values = new HashMap<>();
+    fields.forEach((name, value) -> {
+      if (value != null && !value.isBlank()) {
+        values.put(name.trim(), value.trim());
+      }
+    });
+    if (values.get("showDateTimes") instanceof String showDateTimes) {
+      values.put("showDateTimes", Arrays.stream(showDateTimes.split(CSV_LIST_SEPARATOR))
+          .map(String::trim)
+          .filter(value -> !value.isEmpty())
+          .toList());
+    }
+    return objectMapper.convertValue(values, EventCreateRequest.class);
+  }
+
+  private void importChunk(List<ImportRow> chunk, EventImportResult result) {
+    List<ImportRow> valid = new ArrayList<>(chunk.size());
+    for (ImportRow row : chunk) {
+      String error = validate(row.request());
+      if (error == null) {
+        valid.add(row);
+      } else {
+        result.addError(row.row(), error);
+      }
+    }
+    if (valid.isEmpty()) {
+      return;
+    }
+
+    try {
+      List<EventDTO> created = transactionTemplate.execute(status -> insert(valid));
+      result.addImported(created.size());
+    } catch (DataAccessException e) {
+      log.warn("Import chunk of {} events starting at row {} was rejected", valid.size(), valid.get(0).row(), e);
+      String message = "Not imported, the database rejected its chunk: " + e.getMostSpecificCause().getMessage();
+      for (ImportRow row : valid) {
+        result.addError(row.row(), message);
+      }
+    }
+  }
+
+  // Null if the row can be inserted
+  private String validate(EventCreateRequest request) {
+    Set<ConstraintViolation<EventCreateRequest>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      return violations.stream()
+          .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+          .sorted()
+          .collect(Collectors.joining("; "));
+    }
+    if (request.getShowDateTimes().stream().anyMatch(Objects::isNull)) {
+      return "showDateTimes: Show datetimes must not be null";
+    }
+    if (categoryCatalog.findById(request.getCategoryId()).isEmpty()) {
+      return "categoryId: Category not found with id: " + request.getCategoryId();
+    }
+    return null;
+  }
+
+  private List<EventDTO> insert(List<ImportRow> rows) {
+    List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, rows.size());
+    // Truncated to what the columns store, as Event does
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    List<Object[]> events = new ArrayList<>(rows.size());
+    List<Object[]> showTimes = new ArrayList<>();
+    List<EventDTO> created = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      EventCreateRequest request = rows.get(i).request();
+      Long id = ids.get(i);
+      events.add(new Object[] { id, request.getName(), request.getCategoryId(), request.getLocation(),
+          request.getOnSaleDateTime(), request.getTicketPrice(), request.getDetail(), request.getCondition(),
+          request.getEventStatus().name(), request.getGateOpen(), now, now });
+      for (OffsetDateTime showDateTime : request.getShowDateTimes()) {
+        showTimes.add(new Object[] { id, showDateTime });
+      }
+
+      EventDTO.CategoryDTO category = categoryCatalog.getById(request.getCategoryId());
+      EventRow row = new EventRow(id, request.getName(), category.getId(), category.getName(),
+          category.getDescription(), request.getLocation(), request.getOnSaleDateTime(), request.getTicketPrice(),
+          request.getDetail(), request.getCondition(), request.getEventStatus(), request.getGateOpen(), now, now);
+      created.add(new EventDTO(row, category, request.getShowDateTimes()));
+    }
+
+    jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events);
+    jdbcTemplate.batchUpdate(INSERT_SHOW_TIME_SQL, showTimes);
+
+    eventCache.eventsCreated(created);
+    created.forEach(onSaleScheduler::track);
+    return created;
+  }
+
+  private static String originalMessage(IllegalArgumentException e) {
+    return e.getCause() instanceof JsonProcessingException cause ? cause.getOriginalMessage() : e.getMessage();
+  }
+
+  private record ImportRow(int row, EventCreateRequest request) {
+  }
+
+  /**
+   * Rows read so far and the chunk waiting to be imported
+   */
+  private class Upload {
+
+    private final EventImportResult result = new EventImportResult();
+    private final List<ImportRow> chunk = new ArrayList<>(chunkSize);
+    private int rows;
+
+    int nextRow() {
+      result.addReceived();
+      return ++rows;
+    }
+
+    void add(int row, EventCreateRequest request) {
+      chunk.add(new ImportRow(row, request));
+      if (chunk.size() >= chunkSize) {
+        flush();
+      }
+    }
+
+    void reject(int row, String message) {
+      result.addError(row, message);
+    }
+
+    EventImportResult finish() {
+      flush();
+      return result;
+    }
+
+    private void flush() {
+      if (!chunk.isEmpty()) {
+        importChunk(chunk, result);
+        chunk.clear();
+      }
+    }
+  }
+}
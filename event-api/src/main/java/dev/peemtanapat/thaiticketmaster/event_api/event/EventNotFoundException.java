@@ -1,7 +1,11 @@
 package dev.peemtanapat.thaiticketmaster.event_api.event;
 
+/**
+ * Thrown for unknown event IDs; mapped to a 404
+ * Skips the stack trace, since it is routine for scraped or stale links
+ */
 public class EventNotFoundException extends RuntimeException {
   public EventNotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
@@ -0,0 +1,27 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated event list
+ * nextCursor is passed back as ?cursor= for the following page, and is null
+ * on the last one
+ */
+public class EventPage {
+
+  private final List<EventDTO> events;
+  private final String nextCursor;
+
+  public EventPage(List<EventDTO> events, String nextCursor) {
+    this.events = events;
+    this.nextCursor = nextCursor;
+  }
+
+  public List<EventDTO> getEvents() {
+    return events;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+}
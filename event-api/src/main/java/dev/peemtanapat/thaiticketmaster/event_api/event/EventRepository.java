@@ -1,45 +1,105 @@
 package dev.peemtanapat.thaiticketmaster.event_api.event;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Event queries
+ * Endpoint lists read events as EventRow projections plus one batched show
+ * time query, not as entities. The scheduler's due-event query is the one live
+ * entity list, and fetches the category and show times with an entity graph
+ * so it loads in one query however many events are due. None of these go
+ * through the Hibernate query cache: their results are written to Redis for
+ * every instance, and a JVM-local cache would not see writes made on other
+ * instances.
+ */
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
 
   /**
-   * Find all events that are open to buy (ON_SALE status and on-sale datetime has
-   * passed)
-   * Ordered by the earliest show datetime
+   * All event IDs, for the in-memory ID filter
    */
-  @Query("SELECT DISTINCT e FROM Event e " +
-      "LEFT JOIN FETCH e.category " +
-      "WHERE e.eventStatus = 'ON_SALE' " +
-      "AND e.onSaleDateTime <= :currentDateTime " +
-      "ORDER BY e.onSaleDateTime ASC")
-  List<Event> findOnSaleEventsOrderByShowDate(@Param("currentDateTime") LocalDateTime currentDateTime);
+  @Query("SELECT e.id FROM Event e")
+  List<Long> findAllIds();
 
   /**
-   * Find events by category
+   * All events as rows, without hydrating entities
    */
-  List<Event> findByCategory(Category category);
+  @Query(EventRow.SELECT)
+  List<EventRow> findAllRows();
 
   /**
-   * Find events by status
+   * Events with the given IDs as rows
    */
-  List<Event> findByEventStatus(EventStatus eventStatus);
+  @Query(EventRow.SELECT + "WHERE e.id IN :ids")
+  List<EventRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
 
   /**
-   * Find events by category and status
+   * A category's events as rows
    */
-  List<Event> findByCategoryAndEventStatus(Category category, EventStatus eventStatus);
+  @Query(EventRow.SELECT + "WHERE c.id = :categoryId")
+  List<EventRow> findRowsByCategoryId(@Param("categoryId") Long categoryId);
 
-  // Future feature: Full-text search using Elasticsearch
-  // @Query(value = "SELECT * FROM events WHERE MATCH(name) AGAINST(:searchTerm IN
-  // NATURAL LANGUAGE MODE)", nativeQuery = true)
-  // List<Event> searchEventsByName(@Param("searchTerm") String searchTerm);
+  /**
+   * Events with a status as rows
+   */
+  @Query(EventRow.SELECT + "WHERE e.eventStatus = :eventStatus")
+  List<EventRow> findRowsByEventStatus(@Param("eventStatus") EventStatus eventStatus);
+
+  /**
+   * One keyset page of all events as rows, ordered by id; served by the
+   * primary key
+   */
+  @Query(EventRow.SELECT + "WHERE e.id > :afterId ORDER BY e.id ASC")
+  List<EventRow> findRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+  /**
+   * One keyset page of a category as rows, ordered by id; served by
+   * (category_id, id)
+   */
+  @Query(EventRow.SELECT + "WHERE c.id = :categoryId AND e.id > :afterId ORDER BY e.id ASC")
+  List<EventRow> findRowsByCategoryIdAfter(@Param("categoryId") Long categoryId, @Param("afterId") Long afterId,
+      Limit limit);
+
+  /**
+   * One keyset page of a status as rows, ordered by id; served by
+   * (event_status, id)
+   */
+  @Query(EventRow.SELECT + "WHERE e.eventStatus = :eventStatus AND e.id > :afterId ORDER BY e.id ASC")
+  List<EventRow> findRowsByEventStatusAfter(@Param("eventStatus") EventStatus eventStatus,
+      @Param("afterId") Long afterId, Limit limit);
+
+  /**
+   * Show times of the given events, without loading the events
+   */
+  @Query("SELECT new dev.peemtanapat.thaiticketmaster.event_api.event.EventShowTime(e.id, s) " +
+      "FROM Event e JOIN e.showDateTimes s WHERE e.id IN :eventIds")
+  List<EventShowTime> findShowTimes(@Param("eventIds") Collection<Long> eventIds);
+
+  /**
+   * Find events with a status whose on-sale datetime is before the given one
+   */
+  @EntityGraph(attributePaths = { "category", "showDateTimes" })
+  List<Event> findByEventStatusAndOnSaleDateTimeBefore(EventStatus eventStatus, LocalDateTime onSaleDateTime);
+
+  /**
+   * Move a COMING_SOON event to ON_SALE if its on-sale datetime has passed
+   * Conditional, so concurrent callers apply it at most once
+   * Returns the number of updated rows (0 or 1)
+   */
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Event e SET e.eventStatus = 'ON_SALE', e.updatedAt = :currentDateTime " +
+      "WHERE e.id = :id " +
+      "AND e.eventStatus = 'COMING_SOON' " +
+      "AND e.onSaleDateTime <= :currentDateTime")
+  int openSale(@Param("id") Long id, @Param("currentDateTime") LocalDateTime currentDateTime);
 }
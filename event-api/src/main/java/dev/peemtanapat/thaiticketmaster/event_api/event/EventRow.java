@@ -0,0 +1,24 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only projection of an event row and its category's columns
+ * Built straight from a JPQL constructor expression, so list reads never
+ * create managed entities: no persistence context entries, dirty-checking
+ * snapshots, proxies or collection wrappers. Show times come from a
+ * separate EventShowTime query.
+ */
+public record EventRow(Long id, String name, Long categoryId, String categoryName, String categoryDescription,
+    String location, LocalDateTime onSaleDateTime, BigDecimal ticketPrice, String detail, String condition,
+    EventStatus eventStatus, String gateOpen, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+  /**
+   * JPQL select list matching the constructor, for queries over Event e
+   */
+  static final String SELECT = "SELECT new dev.peemtanapat.thaiticketmaster.event_api.event.EventRow("
+      + "e.id, e.name, c.id, c.name, c.description, e.location, e.onSaleDateTime, e.ticketPrice, "
+      + "e.detail, e.condition, e.eventStatus, e.gateOpen, e.createdAt, e.updatedAt) "
+      + "FROM Event e JOIN e.category c ";
+}
@@ -0,0 +1,391 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import dev.peemtanapat.thaiticketmaster.event_api.cache.NearCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.BreakIterator;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index for full-text event search, ranked with BM25
+ * Covers name, category, location and detail, each with its own weight.
+ * Text is split into words with the JDK's dictionary-based Thai word
+ * breaker, which splits English on spaces and punctuation as usual, then
+ * NFKC-normalized and lowercased.
+ * Loaded from the DB on the first search and patched from EventCache after
+ * each event write commits. Events changed on other instances (change
+ * broadcasts only; cache fills are not broadcast) are re-read in the
+ * background in chunks, while searches keep using the current index. A
+ * category change drops the whole index.
+ */
+@Component
+public class EventSearchIndex {
+
+  // Words of a query that are looked up; the rest are ignored
+  static final int MAX_QUERY_TERMS = 16;
+  // Changed events re-read per query, well under the driver's bind parameter limit
+  static final int REFRESH_BATCH_SIZE = 1000;
+
+  private static final Logger log = LoggerFactory.getLogger(EventSearchIndex.class);
+
+  private static final Locale THAI = Locale.of("th");
+
+  // BM25 term frequency saturation and length normalization
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+
+  // A word in the name counts three times as much as one in the detail
+  private static final float NAME_WEIGHT = 3f;
+  private static final float CATEGORY_WEIGHT = 2f;
+  private static final float LOCATION_WEIGHT = 1.5f;
+  private static final float DETAIL_WEIGHT = 1f;
+
+  private final EventRepository eventRepository;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // Events written on other instances and not re-read yet
+  private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+  private final ExecutorService refreshExecutor;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+
+  // Null until loaded; replaced and patched only under the write lock
+  private volatile Index index;
+  // Events patched locally while a chunk is read, which that chunk must not
+  // overwrite; null between reads. Guarded by the write lock
+  private Set<Long> patched;
+
+  public EventSearchIndex(EventRepository eventRepository, NearCache nearCache) {
+    this.eventRepository = eventRepository;
+    this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "search-index-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+    nearCache.addRemoteInvalidationListener(keys -> {
+      if (keys.contains(CategoryCatalog.CATALOG_KEY)) {
+        invalidate();
+      } else {
+        stale.addAll(EventCache.eventIds(keys));
+      }
+    });
+  }
+
+  /**
+   * IDs of the events best matching query, best first, at most limit
+   * Ties are broken by id
+   */
+  public List<Long> search(String query, int limit) {
+    List<String> terms = tokenize(query).stream().distinct().limit(MAX_QUERY_TERMS).toList();
+    if (terms.isEmpty()) {
+      return List.of();
+    }
+    Index current = index;
+    if (current == null) {
+      current = loadIndex();
+    }
+    if (!stale.isEmpty()) {
+      refreshInBackground();
+    }
+    lock.readLock().lock();
+    try {
+      return current.search(terms, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Load the index now, e.g. during warm-up, rather than on the first search
+   */
+  public void load() {
+    loadIndex();
+  }
+
+  /**
+   * Index a created or updated event, replacing what was indexed for it
+   * Ignored until the index is loaded, since the load reads it from the DB
+   */
+  public void put(EventDTO event) {
+    lock.writeLock().lock();
+    try {
+      if (index != null) {
+        index.add(event.getId(), terms(event.getName(), event.getCategory().getName(), event.getLocation(),
+            event.getDetail()));
+        markPatched(event.getId());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(Long id) {
+    lock.writeLock().lock();
+    try {
+      if (index != null) {
+        index.remove(id);
+        markPatched(id);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Drop the index; it is reloaded on the next search
+   */
+  public void invalidate() {
+    lock.writeLock().lock();
+    try {
+      index = null;
+      stale.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Every event carries its category's name, so a renamed category makes
+   * the whole index stale
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+  public void onCategoryChanged(CategoryChangedEvent event) {
+    invalidate();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  /**
+   * Re-read the events changed on other instances, a chunk at a time
+   * Each chunk is read outside the lock, so searches are never held up by
+   * the DB; events patched locally meanwhile are newer and left alone
+   */
+  void refreshStale() {
+    while (!stale.isEmpty()) {
+      List<Long> ids = stale.stream().limit(REFRESH_BATCH_SIZE).toList();
+      stale.removeAll(ids);
+      Index target;
+      lock.writeLock().lock();
+      try {
+        // A dropped index reloads everything on the next search
+        target = index;
+        if (target == null) {
+          return;
+        }
+        patched = new HashSet<>();
+      } finally {
+        lock.writeLock().unlock();
+      }
+
+      List<EventRow> rows;
+      try {
+        rows = eventRepository.findRowsByIdIn(ids);
+      } catch (RuntimeException e) {
+        stale.addAll(ids);
+        clearPatched();
+        throw e;
+      }
+
+      lock.writeLock().lock();
+      try {
+        if (index == target) {
+          for (Long id : ids) {
+            if (!patched.contains(id)) {
+              target.remove(id);
+            }
+          }
+          for (EventRow row : rows) {
+            if (!patched.contains(row.id())) {
+              target.add(row.id(), terms(row));
+            }
+          }
+        }
+        patched = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  // Load the whole index under the write lock, so no local write is applied
+  // before the rows it follows
+  private Index loadIndex() {
+    lock.writeLock().lock();
+    try {
+      if (index == null) {
+        stale.clear();
+        Index loaded = new Index();
+        for (EventRow row : eventRepository.findAllRows()) {
+          loaded.add(row.id(), terms(row));
+        }
+        index = loaded;
+      }
+      return index;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // At most one refresh runs or waits at a time; events marked after it
+  // finishes are picked up by the next search
+  private void refreshInBackground() {
+    if (!refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(() -> {
+        try {
+          refreshStale();
+        } catch (RuntimeException e) {
+          log.warn("Failed to re-read changed events for search", e);
+        } finally {
+          refreshing.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      refreshing.set(false);
+    }
+  }
+
+  // Called under the write lock
+  private void markPatched(Long id) {
+    if (patched != null) {
+      patched.add(id);
+    }
+  }
+
+  private void clearPatched() {
+    lock.writeLock().lock();
+    try {
+      patched = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static Map<String, Float> terms(EventRow row) {
+    return terms(row.name(), row.categoryName(), row.location(), row.detail());
+  }
+
+  // Weighted frequency of each word across the indexed fields
+  private static Map<String, Float> terms(String name, String category, String location, String detail) {
+    Map<String, Float> terms = new HashMap<>();
+    addTerms(terms, name, NAME_WEIGHT);
+    addTerms(terms, category, CATEGORY_WEIGHT);
+    addTerms(terms, location, LOCATION_WEIGHT);
+    addTerms(terms, detail, DETAIL_WEIGHT);
+    return terms;
+  }
+
+  private static void addTerms(Map<String, Float> terms, String text, float weight) {
+    for (String term : tokenize(text)) {
+      terms.merge(term, weight, Float::sum);
+    }
+  }
+
+  /**
+   * Normalized words of text, in order, without spaces and punctuation
+   */
+  static List<String> tokenize(String text) {
+    if (text == null || text.isBlank()) {
+      return List.of();
+    }
+    String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    // Not thread-safe, so one per call
+    BreakIterator words = BreakIterator.getWordInstance(THAI);
+    words.setText(normalized);
+    List<String> tokens = new ArrayList<>();
+    for (int start = words.first(), end = words.next(); end != BreakIterator.DONE; start = end, end = words.next()) {
+      String word = normalized.substring(start, end);
+      if (word.codePoints().anyMatch(Character::isLetterOrDigit)) {
+        tokens.add(word);
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * Postings and document lengths; not thread-safe on its own
+   */
+  private static final class Index {
+
+    // Word -> event ID -> weighted frequency of the word in that event
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private double totalLength;
+
+    void add(Long id, Map<String, Float> terms) {
+      remove(id);
+      float length = 0;
+      for (Map.Entry<String, Float> term : terms.entrySet()) {
+        postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(id, term.getValue());
+        length += term.getValue();
+      }
+      documents.put(id, new Document(terms.keySet().toArray(String[]::new), length));
+      totalLength += length;
+    }
+
+    void remove(Long id) {
+      Document document = documents.remove(id);
+      if (document == null) {
+        return;
+      }
+      for (String term : document.terms()) {
+        Map<Long, Float> events = postings.get(term);
+        events.remove(id);
+        if (events.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+      totalLength -= document.length();
+    }
+
+    List<Long> search(List<String> terms, int limit) {
+      int count = documents.size();
+      if (count == 0) {
+        return List.of();
+      }
+      double averageLength = totalLength / count;
+      Map<Long, Double> scores = new HashMap<>();
+      for (String term : terms) {
+        Map<Long, Float> events = postings.get(term);
+        if (events == null) {
+          continue;
+        }
+        double idf = Math.log(1 + (count - events.size() + 0.5) / (events.size() + 0.5));
+        events.forEach((id, frequency) -> {
+          double norm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+          scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+        });
+      }
+      return scores.entrySet().stream()
+          .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+          .limit(limit)
+          .map(Map.Entry::getKey)
+          .toList();
+    }
+  }
+
+  private record Document(String[] terms, float length) {
+  }
+}
@@ -1,145 +1,150 @@
 package dev.peemtanapat.thaiticketmaster.event_api.event;
 
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @Service
 public class EventService {
 
   private final EventRepository eventRepository;
   private final CategoryRepository categoryRepository;
-  private final RedisTemplate<String, Object> redisTemplate;
-
-  private static final String EVENT_CACHE_PREFIX = "event:";
-  private static final String EVENTS_ALL_CACHE_KEY = "events:all";
-  private static final String EVENTS_ON_SALE_CACHE_KEY = "events:onsale";
-  private static final long CACHE_TTL_HOURS = 1;
+  private final CategoryCatalog categoryCatalog;
+  private final EventCache eventCache;
+  private final OnSaleScheduler onSaleScheduler;
+  private final EventSearchIndex eventSearchIndex;
 
   public EventService(EventRepository eventRepository, CategoryRepository categoryRepository,
-      RedisTemplate<String, Object> redisTemplate) {
+      CategoryCatalog categoryCatalog, EventCache eventCache, OnSaleScheduler onSaleScheduler,
+      EventSearchIndex eventSearchIndex) {
     this.eventRepository = eventRepository;
     this.categoryRepository = categoryRepository;
-    this.redisTemplate = redisTemplate;
+    this.categoryCatalog = categoryCatalog;
+    this.eventCache = eventCache;
+    this.onSaleScheduler = onSaleScheduler;
+    this.eventSearchIndex = eventSearchIndex;
   }
 
   /**
    * Get all events
-   * Uses write-through cache: Check cache first, if miss, load from DB and cache
+   * Served from the cached ID index and per-event entries; see EventCache
    */
   @Transactional(readOnly = true)
-  @SuppressWarnings("unchecked")
   public List<EventDTO> getAllEvents() {
-    // Try to get from cache first
-    List<EventDTO> cachedEvents = (List<EventDTO>) redisTemplate.opsForValue().get(EVENTS_ALL_CACHE_KEY);
-    if (cachedEvents != null) {
-      return cachedEvents;
-    }
-
-    // If not in cache, get from database
-    List<EventDTO> events = eventRepository.findAll().stream()
-        .map(EventDTO::new)
-        .collect(Collectors.toList());
-
-    // Cache the result
-    redisTemplate.opsForValue().set(EVENTS_ALL_CACHE_KEY, events, CACHE_TTL_HOURS, TimeUnit.HOURS);
+    return eventCache.getAllEvents();
+  }
 
-    return events;
+  /**
+   * Get one page of all events, ordered by id
+   * Keyset paginated: cursor is the previous page's nextCursor, or null
+   */
+  @Transactional(readOnly = true)
+  public EventPage getEventsPage(String cursor, int limit) {
+    return eventCache.getEventsPage(cursor, limit);
   }
 
   /**
    * Get event by ID
    * Uses write-through cache: Check cache first, if miss, load from DB and cache
+   * Not transactional, so cache hits and rejected unknown IDs never borrow a
+   * DB connection; a miss loads in the repository's own transaction
    */
-  @Transactional(readOnly = true)
   public EventDTO getEventById(Long id) {
-    String cacheKey = EVENT_CACHE_PREFIX + id;
-
-    // Try to get from cache first
-    EventDTO cachedEvent = (EventDTO) redisTemplate.opsForValue().get(cacheKey);
-    if (cachedEvent != null) {
-      return cachedEvent;
-    }
-
-    // If not in cache, get from database
-    Event event = eventRepository.findById(id)
-        .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + id));
-    EventDTO eventDTO = new EventDTO(event);
-
-    // Cache the result
-    redisTemplate.opsForValue().set(cacheKey, eventDTO, CACHE_TTL_HOURS, TimeUnit.HOURS);
+    return eventCache.getEvent(id);
+  }
 
-    return eventDTO;
+  /**
+   * Get several events by ID, in request order, skipping unknown IDs
+   * Resolved with one MGET; misses are loaded with one query and written
+   * back in one pipeline
+   */
+  public List<EventDTO> getEventsByIds(List<Long> ids) {
+    return eventCache.getEvents(ids.stream().distinct().toList());
   }
 
   /**
    * Get events that are open to buy (ON_SALE and on-sale datetime has passed)
-   * Ordered by show date (earliest first)
-   * Uses write-through cache: Check cache first, if miss, load from DB and cache
+   * Ordered by on-sale datetime (earliest first)
+   * Served from the cached on-sale index, filtered by the current time on read
    */
   @Transactional(readOnly = true)
-  @SuppressWarnings("unchecked")
   public List<EventDTO> getOnSaleEvents() {
-    // Try to get from cache first
-    List<EventDTO> cachedEvents = (List<EventDTO>) redisTemplate.opsForValue().get(EVENTS_ON_SALE_CACHE_KEY);
-    if (cachedEvents != null) {
-      return cachedEvents;
-    }
-
-    // If not in cache, get from database
-    LocalDateTime now = LocalDateTime.now();
-    List<EventDTO> events = eventRepository.findOnSaleEventsOrderByShowDate(now).stream()
-        .map(EventDTO::new)
-        .collect(Collectors.toList());
-
-    // Cache the result with shorter TTL since it's time-sensitive
-    redisTemplate.opsForValue().set(EVENTS_ON_SALE_CACHE_KEY, events, 15, TimeUnit.MINUTES);
+    return eventCache.getOnSaleEvents();
+  }
 
-    return events;
+  /**
+   * Throw CategoryNotFoundException unless the category exists
+   * Served from the in-memory category catalog
+   */
+  public void requireCategory(Long categoryId) {
+    categoryCatalog.getById(categoryId);
   }
 
   /**
    * Get events by category
+   * Served from the cached category index
    */
   @Transactional(readOnly = true)
   public List<EventDTO> getEventsByCategory(Long categoryId) {
-    Category category = categoryRepository.findById(categoryId)
-        .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + categoryId));
-    return eventRepository.findByCategory(category).stream()
-        .map(EventDTO::new)
-        .collect(Collectors.toList());
+    return eventCache.getEventsByCategory(categoryId);
+  }
+
+  /**
+   * Get one page of a category's events, ordered by id
+   */
+  @Transactional(readOnly = true)
+  public EventPage getEventsByCategoryPage(Long categoryId, String cursor, int limit) {
+    return eventCache.getEventsByCategoryPage(categoryId, cursor, limit);
   }
 
   /**
    * Get events by status
+   * Served from the cached status index
    */
   @Transactional(readOnly = true)
   public List<EventDTO> getEventsByStatus(EventStatus status) {
-    return eventRepository.findByEventStatus(status).stream()
-        .map(EventDTO::new)
-        .collect(Collectors.toList());
+    return eventCache.getEventsByStatus(status);
+  }
+
+  /**
+   * Get one page of the events with a status, ordered by id
+   */
+  @Transactional(readOnly = true)
+  public EventPage getEventsByStatusPage(EventStatus status, String cursor, int limit) {
+    return eventCache.getEventsByStatusPage(status, cursor, limit);
+  }
+
+  /**
+   * Version of the event catalog, changed by every event write; for list
+   * ETags. Null if it cannot be read without the DB right now
+   */
+  public Long getCatalogVersion() {
+    return eventCache.getCatalogVersion();
+  }
+
+  /**
+   * How many events are open to buy right now; for the on-sale list ETag.
+   * Null if it cannot be read without the DB right now
+   */
+  public Integer countOnSaleEvents() {
+    return eventCache.countOnSaleEvents();
   }
 
   /**
    * Create a new event (Admin only)
    * Write-through strategy: Write to DB first, then cache the result and
-   * invalidate list caches
+   * add it to the list indexes
    */
   @Transactional
   public EventDTO createEvent(EventCreateRequest request) {
-    // Validate category exists
-    Category category = categoryRepository.findById(request.getCategoryId())
-        .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + request.getCategoryId()));
+    // Validate category exists against the catalog; the entity only needs a reference
+    EventDTO.CategoryDTO category = categoryCatalog.getById(request.getCategoryId());
 
     // Create event entity
     Event event = new Event();
     event.setName(request.getName());
-    event.setCategory(category);
+    event.setCategory(categoryRepository.getReferenceById(category.getId()));
     event.setShowDateTimes(request.getShowDateTimes());
     event.setLocation(request.getLocation());
     event.setOnSaleDateTime(request.getOnSaleDateTime());
@@ -151,37 +156,35 @@ public class EventService {
 
     // Write to database first
     Event savedEvent = eventRepository.save(event);
-    EventDTO eventDTO = new EventDTO(savedEvent);
+    EventDTO eventDTO = new EventDTO(savedEvent, category);
 
-    // Cache the individual event
-    String cacheKey = EVENT_CACHE_PREFIX + savedEvent.getId();
-    redisTemplate.opsForValue().set(cacheKey, eventDTO, CACHE_TTL_HOURS, TimeUnit.HOURS);
-
-    // Invalidate list caches since a new event was added
-    redisTemplate.delete(EVENTS_ALL_CACHE_KEY);
-    redisTemplate.delete(EVENTS_ON_SALE_CACHE_KEY);
+    // Cache the event and add it to the list indexes
+    eventCache.eventCreated(eventDTO);
+    // Open the sale on time if it starts later
+    onSaleScheduler.track(eventDTO);
 
     return eventDTO;
   }
 
   /**
    * Update an existing event (Admin only)
-   * Write-through strategy: Update DB first, then update cache and invalidate
-   * list caches
+   * Write-through strategy: Update DB first, then update cache and patch the
+   * list indexes it moved in or out of
    */
   @Transactional
   public EventDTO updateEvent(Long id, EventUpdateRequest request) {
     Event event = eventRepository.findById(id)
         .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + id));
+    EventDTO before = new EventDTO(event);
+    EventDTO.CategoryDTO category = before.getCategory();
 
     // Update only non-null fields
     if (request.getName() != null) {
       event.setName(request.getName());
     }
     if (request.getCategoryId() != null) {
-      Category category = categoryRepository.findById(request.getCategoryId())
-          .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + request.getCategoryId()));
-      event.setCategory(category);
+      category = categoryCatalog.getById(request.getCategoryId());
+      event.setCategory(categoryRepository.getReferenceById(category.getId()));
     }
     if (request.getShowDateTimes() != null) {
       event.setShowDateTimes(request.getShowDateTimes());
@@ -208,17 +211,14 @@ public class EventService {
       event.setGateOpen(request.getGateOpen());
     }
 
-    // Update database first
-    Event updatedEvent = eventRepository.save(event);
-    EventDTO eventDTO = new EventDTO(updatedEvent);
+    // Update database first; flushed now so updatedAt (the event's ETag) is
+    // set before the cached copy is built from it
+    Event updatedEvent = eventRepository.saveAndFlush(event);
+    EventDTO eventDTO = new EventDTO(updatedEvent, category);
 
     // Update cache with new data
-    String cacheKey = EVENT_CACHE_PREFIX + id;
-    redisTemplate.opsForValue().set(cacheKey, eventDTO, CACHE_TTL_HOURS, TimeUnit.HOURS);
-
-    // Invalidate list caches since event data changed
-    redisTemplate.delete(EVENTS_ALL_CACHE_KEY);
-    redisTemplate.delete(EVENTS_ON_SALE_CACHE_KEY);
+    eventCache.eventUpdated(before, eventDTO);
+    onSaleScheduler.track(eventDTO);
 
     return eventDTO;
   }
@@ -229,26 +229,25 @@ public class EventService {
    */
   @Transactional
   public void deleteEvent(Long id) {
-    if (!eventRepository.existsById(id)) {
-      throw new EventNotFoundException("Event not found with id: " + id);
-    }
+    Event event = eventRepository.findById(id)
+        .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + id));
+    // Keep what the list indexes need to know about the event
+    EventDTO deleted = new EventDTO(event);
 
     // Delete from database first
-    eventRepository.deleteById(id);
-
-    // Evict from cache
-    String cacheKey = EVENT_CACHE_PREFIX + id;
-    redisTemplate.delete(cacheKey);
+    eventRepository.delete(event);
 
-    // Invalidate list caches since an event was removed
-    redisTemplate.delete(EVENTS_ALL_CACHE_KEY);
-    redisTemplate.delete(EVENTS_ON_SALE_CACHE_KEY);
+    // Evict the event and remove it from the list indexes it was in
+    eventCache.eventDeleted(deleted);
+    onSaleScheduler.untrack(id);
   }
 
-  // Future feature: Full-text search using Elasticsearch
-  // public List<EventDTO> searchEventsByName(String searchTerm) {
-  // return eventRepository.searchEventsByName(searchTerm).stream()
-  // .map(EventDTO::new)
-  // .collect(Collectors.toList());
-  // }
+  /**
+   * Full-text search over event name, category, location and detail, in
+   * Thai or English, best match first
+   * Ranked in the in-memory search index; the events come from the cache
+   */
+  public List<EventDTO> searchEvents(String query, int limit) {
+    return eventCache.getEvents(eventSearchIndex.search(query, limit));
+  }
 }
@@ -0,0 +1,10 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One show time of an event, projected from the event_show_times collection
+ * table without loading the event
+ */
+public record EventShowTime(Long eventId, OffsetDateTime showDateTime) {
+}
@@ -0,0 +1,78 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts event detail views, so warm-up knows which events are hottest
+ * Views are counted in memory and flushed to a sorted set shared by all
+ * instances, so recording one costs no Redis round trip. Counts are
+ * approximate: a view racing a flush can be dropped.
+ */
+@Component
+public class EventViewCounter {
+
+  private static final Logger log = LoggerFactory.getLogger(EventViewCounter.class);
+
+  static final String VIEWS_KEY = "events:views";
+
+  private final StringRedisTemplate redisTemplate;
+  private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+  public EventViewCounter(StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+  }
+
+  public void record(Long id) {
+    pending.computeIfAbsent(id, key -> new LongAdder()).increment();
+  }
+
+  /**
+   * IDs of the most-viewed events, most viewed first
+   */
+  public List<Long> topViewed(int count) {
+    Set<String> ids = redisTemplate.opsForZSet().reverseRange(VIEWS_KEY, 0, count - 1);
+    return ids == null ? List.of() : ids.stream().map(Long::valueOf).toList();
+  }
+
+  /**
+   * Add pending counts to the shared sorted set in one pipeline
+   */
+  @Scheduled(fixedDelayString = "${event-api.warmup.views-flush-interval:30s}")
+  @PreDestroy
+  public void flush() {
+    Map<Long, Long> counts = new HashMap<>();
+    for (Long id : pending.keySet()) {
+      LongAdder views = pending.remove(id);
+      if (views != null) {
+        counts.put(id, views.sum());
+      }
+    }
+    if (counts.isEmpty()) {
+      return;
+    }
+
+    try {
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        StringRedisConnection stringConnection = (StringRedisConnection) connection;
+        counts.forEach((id, views) -> stringConnection.zIncrBy(VIEWS_KEY, views, id.toString()));
+        return null;
+      });
+    } catch (RuntimeException e) {
+      log.warn("Failed to flush {} event view counts", counts.size(), e);
+    }
+  }
+}
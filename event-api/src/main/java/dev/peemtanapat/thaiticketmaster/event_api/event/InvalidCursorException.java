@@ -0,0 +1,11 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+/**
+ * Thrown for a page cursor that is malformed or belongs to another list;
+ * mapped to a 400
+ */
+public class InvalidCursorException extends RuntimeException {
+  public InvalidCursorException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -0,0 +1,158 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens sales on time: moves COMING_SOON events to ON_SALE at the exact
+ * on-sale instant and patches the status and on-sale indexes
+ * Transitions due within the horizon sit on an in-process delay queue, kept
+ * current by event writes here and by a periodic reload, which also catches
+ * events written on other instances. Every replica may fire the same
+ * transition; the conditional update lets only one of them apply it.
+ */
+@Component
+public class OnSaleScheduler {
+
+  private static final Logger log = LoggerFactory.getLogger(OnSaleScheduler.class);
+
+  private final EventRepository eventRepository;
+  private final EventCache eventCache;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final Duration horizon;
+  private final ScheduledThreadPoolExecutor timer;
+  private final Map<Long, Transition> pending = new ConcurrentHashMap<>();
+
+  public OnSaleScheduler(EventRepository eventRepository, EventCache eventCache,
+      TransactionTemplate transactionTemplate,
+      @Value("${event-api.on-sale.scheduler.enabled:true}") boolean enabled,
+      @Value("${event-api.on-sale.scheduler.horizon:1h}") Duration horizon) {
+    this.eventRepository = eventRepository;
+    this.eventCache = eventCache;
+    this.transactionTemplate = transactionTemplate;
+    this.enabled = enabled;
+    this.horizon = horizon;
+    this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, "on-sale-scheduler");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.timer.setRemoveOnCancelPolicy(true);
+  }
+
+  /**
+   * Queue every COMING_SOON event due within the horizon, including overdue
+   * ones, which fire right away
+   */
+  @Scheduled(fixedDelayString = "${event-api.on-sale.scheduler.reload-interval:10m}")
+  public void reload() {
+    if (!enabled) {
+      return;
+    }
+    LocalDateTime until = LocalDateTime.now().plus(horizon);
+    for (Event event : eventRepository.findByEventStatusAndOnSaleDateTimeBefore(EventStatus.COMING_SOON, until)) {
+      schedule(event.getId(), event.getOnSaleDateTime());
+    }
+  }
+
+  /**
+   * Queue, move or drop the transition for an event that was just written
+   */
+  public void track(EventDTO event) {
+    if (!enabled) {
+      return;
+    }
+    if (event.getEventStatus() == EventStatus.COMING_SOON && event.getOnSaleDateTime() != null
+        && event.getOnSaleDateTime().isBefore(LocalDateTime.now().plus(horizon))) {
+      schedule(event.getId(), event.getOnSaleDateTime());
+    } else {
+      untrack(event.getId());
+    }
+  }
+
+  public void untrack(Long id) {
+    Transition transition = pending.remove(id);
+    if (transition != null) {
+      transition.future().cancel(false);
+    }
+  }
+
+  int pendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Move one event to ON_SALE if it is still COMING_SOON and due, and patch
+   * the cache. Returns false if there was nothing to do
+   */
+  boolean openSale(Long id) {
+    EventDTO opened = transactionTemplate.execute(status -> {
+      if (eventRepository.openSale(id, LocalDateTime.now()) == 0) {
+        // Changed by an admin, or already opened by another replica
+        return null;
+      }
+      return eventRepository.findById(id).map(EventDTO::new).orElse(null);
+    });
+    if (opened == null) {
+      return false;
+    }
+
+    // All the index patch needs to know about the event before the change
+    EventDTO before = new EventDTO();
+    before.setId(id);
+    before.setCategory(opened.getCategory());
+    before.setOnSaleDateTime(opened.getOnSaleDateTime());
+    before.setEventStatus(EventStatus.COMING_SOON);
+    eventCache.eventUpdated(before, opened);
+    log.info("Event {} is now on sale", id);
+    return true;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    timer.shutdownNow();
+  }
+
+  private void schedule(Long id, LocalDateTime onSaleDateTime) {
+    pending.compute(id, (key, current) -> {
+      if (current != null) {
+        if (current.onSaleDateTime().equals(onSaleDateTime)) {
+          return current;
+        }
+        current.future().cancel(false);
+      }
+      // Round up, so the conditional update never runs a moment too early
+      long delay = Math.max(0, Duration.between(LocalDateTime.now(), onSaleDateTime).toMillis() + 1);
+      return new Transition(onSaleDateTime,
+          timer.schedule(() -> fire(id, onSaleDateTime), delay, TimeUnit.MILLISECONDS));
+    });
+  }
+
+  private void fire(Long id, LocalDateTime onSaleDateTime) {
+    try {
+      openSale(id);
+    } catch (RuntimeException e) {
+      // Still COMING_SOON and overdue, so the next reload retries it
+      log.warn("Failed to open sale for event {}", id, e);
+    } finally {
+      pending.computeIfPresent(id, (key, current) -> current.onSaleDateTime().equals(onSaleDateTime) ? null : current);
+    }
+  }
+
+  private record Transition(LocalDateTime onSaleDateTime, ScheduledFuture<?> future) {
+  }
+}
@@ -0,0 +1,118 @@
+package dev.peemtanapat.thaiticketmaster.event_api.health;
+
+import dev.peemtanapat.thaiticketmaster.event_api.event.CategoryCatalog;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventCache;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventController;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventDTO;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventIdFilter;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventSearchIndex;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventViewCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warms caches and the JIT before the instance takes traffic
+ * Runs on the main thread while ApplicationReadyEvent is handled. Spring Boot
+ * only reports readiness (ACCEPTING_TRAFFIC) once ready listeners return, so
+ * /actuator/health/readiness stays down until warm-up is done. Failures are
+ * logged and never keep the instance out of service.
+ */
+@Component
+public class CacheWarmer {
+
+  private static final Logger log = LoggerFactory.getLogger(CacheWarmer.class);
+
+  private final CategoryCatalog categoryCatalog;
+  private final EventIdFilter eventIdFilter;
+  private final EventSearchIndex eventSearchIndex;
+  private final EventCache eventCache;
+  private final EventViewCounter eventViewCounter;
+  private final boolean enabled;
+  private final int topViewed;
+  private final int requests;
+
+  public CacheWarmer(CategoryCatalog categoryCatalog, EventIdFilter eventIdFilter,
+      EventSearchIndex eventSearchIndex, EventCache eventCache, EventViewCounter eventViewCounter,
+      @Value("${event-api.warmup.enabled:true}") boolean enabled,
+      @Value("${event-api.warmup.top-viewed:50}") int topViewed,
+      @Value("${event-api.warmup.requests:100}") int requests) {
+    this.categoryCatalog = categoryCatalog;
+    this.eventIdFilter = eventIdFilter;
+    this.eventSearchIndex = eventSearchIndex;
+    this.eventCache = eventCache;
+    this.eventViewCounter = eventViewCounter;
+    this.enabled = enabled;
+    this.topViewed = topViewed;
+    this.requests = requests;
+  }
+
+  @EventListener
+  public void onApplicationReady(ApplicationReadyEvent event) {
+    if (!enabled) {
+      return;
+    }
+    ApplicationContext context = event.getApplicationContext();
+    AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+
+    long start = System.currentTimeMillis();
+    List<Long> warmIds = warmCaches();
+    if (context instanceof WebServerApplicationContext webContext && webContext.getWebServer().getPort() > 0) {
+      warmRequests(webContext.getWebServer().getPort(), warmIds);
+    }
+    log.info("Warm-up finished in {} ms ({} events)", System.currentTimeMillis() - start, warmIds.size());
+  }
+
+  /**
+   * Load the catalog, the ID filter, the search index, on-sale events and
+   * the most-viewed events into the caches. Returns the IDs of the events now cached
+   */
+  List<Long> warmCaches() {
+    List<Long> ids = new ArrayList<>();
+    try {
+      categoryCatalog.getAll();
+      eventIdFilter.load();
+      eventSearchIndex.load();
+      eventCache.getOnSaleEvents().forEach(eventDTO -> ids.add(eventDTO.getId()));
+      for (EventDTO eventDTO : eventCache.getEvents(eventViewCounter.topViewed(topViewed))) {
+        if (!ids.contains(eventDTO.getId())) {
+          ids.add(eventDTO.getId());
+        }
+      }
+    } catch (RuntimeException e) {
+      log.warn("Cache warm-up failed", e);
+    }
+    return ids;
+  }
+
+  // Loopback requests through the full MVC stack: routing, service, cache reads and JSON
+  private void warmRequests(int port, List<Long> ids) {
+    RestClient client = RestClient.builder()
+        .baseUrl("http://localhost:" + port)
+        .defaultHeader(EventController.WARM_UP_HEADER, "true")
+        .build();
+    try {
+      for (int i = 0; i < requests; i++) {
+        client.get().uri("/api/v1/events/on-sale").retrieve().toBodilessEntity();
+        client.get().uri("/api/v1/categories").retrieve().toBodilessEntity();
+        if (!ids.isEmpty()) {
+          client.get().uri("/api/v1/events/{id}", ids.get(i % ids.size())).retrieve().toBodilessEntity();
+        }
+      }
+    } catch (RestClientException e) {
+      log.warn("Warm-up requests failed", e);
+    }
+  }
+}
@@ -1,5 +1,9 @@
 package dev.peemtanapat.thaiticketmaster.event_api.health;
 
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,9 +12,22 @@ import org.springframework.web.bind.annotation.GetMapping;
 @RequestMapping("/api")
 public class HealthController {
 
+  private final ApplicationAvailability availability;
+
+  public HealthController(ApplicationAvailability availability) {
+    this.availability = availability;
+  }
+
+  /**
+   * Simple health check; 503 until startup warm-up is done
+   * Probes should prefer /actuator/health/readiness
+   */
   @GetMapping("/health")
-  public String health() {
-    return "event-api is OK";
+  public ResponseEntity<String> health() {
+    if (availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("event-api is warming up");
+    }
+    return ResponseEntity.ok("event-api is OK");
   }
 
 }
@@ -0,0 +1,18 @@
+-- ============================================================================
+-- Migration: Indexes for keyset-paginated event lists
+-- Description: Category and status pages are read with
+--              WHERE category_id = ? AND id > ? ORDER BY id LIMIT n
+--              (and the same for event_status), which these serve without a
+--              sort. All-events pages use the primary key.
+-- Created: 2026-10-16
+-- ============================================================================
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_event_category_id_id ON events (category_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_event_status_id ON events (event_status, id);
+
+-- Optional verification (comment out in prod):
+-- EXPLAIN SELECT * FROM events WHERE category_id = 1 AND id > 0 ORDER BY id LIMIT 50;
+
+-- ============================================================================
+-- Migration Complete
+-- ============================================================================
@@ -7,7 +7,13 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
+import dev.peemtanapat.thaiticketmaster.event_api.cache.NearCache;
+import dev.peemtanapat.thaiticketmaster.event_api.event.CategoryCatalog;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventIdFilter;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventSearchIndex;
 import dev.peemtanapat.thaiticketmaster.event_api.event.CategoryRepository;
 import dev.peemtanapat.thaiticketmaster.event_api.event.EventRepository;
 
@@ -36,6 +42,18 @@ public abstract class BaseIntegrationTest {
   @Autowired
   protected RedisTemplate<String, Object> redisTemplate;
 
+  @Autowired
+  protected NearCache nearCache;
+
+  @Autowired
+  protected CategoryCatalog categoryCatalog;
+
+  @Autowired
+  protected EventIdFilter eventIdFilter;
+
+  @Autowired
+  protected EventSearchIndex eventSearchIndex;
+
   /**
    * Clean up data before each test to ensure test isolation.
    * Redis is cleared and database state is rolled back after each test
@@ -52,5 +70,20 @@ public abstract class BaseIntegrationTest {
         // Ignore if Redis is not available
       }
     }
+
+    // Clear the in-process L1 cache, category catalog, event ID filter and
+    // search index as well
+    nearCache.clearLocal();
+    categoryCatalog.invalidate();
+    eventIdFilter.invalidate();
+    eventSearchIndex.invalidate();
+  }
+
+  /**
+   * Apply the cache writes queued so far, as if the test transaction had
+   * committed. Tests roll back, so after-commit hooks never run on their own
+   */
+  protected void runAfterCommitHooks() {
+    TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
   }
 }
@@ -0,0 +1,56 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheMetricsTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private CacheMetrics cacheMetrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cacheMetrics = new CacheMetrics(meterRegistry);
+  }
+
+  @Test
+  void family_DropsTheVariablePartOfTheKey() {
+    assertEquals("event", CacheMetrics.family("event:42"));
+    assertEquals("events:all", CacheMetrics.family("events:all"));
+    assertEquals("events:all", CacheMetrics.family("events:all:ids"));
+    assertEquals("events:onsale", CacheMetrics.family("events:onsale:ids"));
+    assertEquals("events:category", CacheMetrics.family("events:category:3:ids"));
+    assertEquals("events:status", CacheMetrics.family("events:status:ON_SALE"));
+    assertEquals("categories", CacheMetrics.family("categories"));
+    assertEquals("other", CacheMetrics.family("lease:event:42"));
+  }
+
+  @Test
+  void timeLoad_WhenLoaderThrows_RecordsFailure() {
+    // Act
+    assertThrows(IllegalStateException.class, () -> cacheMetrics.timeLoad("event:1", () -> {
+      throw new IllegalStateException("db down");
+    }));
+
+    // Assert
+    assertEquals(1, meterRegistry.get("cache.loader.time").tag("family", "event").tag("result", "failure")
+        .timer().count());
+  }
+
+  @Test
+  void recordLocalRemoval_IgnoresReplacedEntries() {
+    // Act
+    cacheMetrics.recordLocalRemoval("event:1", RemovalCause.SIZE);
+    cacheMetrics.recordLocalRemoval("event:1", RemovalCause.REPLACED);
+
+    // Assert
+    assertEquals(1.0, meterRegistry.get("cache.entries.evicted").tag("family", "event").tag("cause", "size")
+        .counter().count());
+    assertEquals(1, meterRegistry.find("cache.entries.evicted").counters().size());
+  }
+}
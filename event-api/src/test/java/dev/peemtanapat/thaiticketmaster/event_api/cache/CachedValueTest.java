@@ -0,0 +1,46 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedValueTest {
+
+  @Test
+  void shouldRefresh_WhenFarFromSoftExpiry_ReturnsFalse() {
+    // Arrange
+    long now = System.currentTimeMillis();
+    CachedValue entry = new CachedValue("value", now + 60_000, 0);
+
+    // Act & Assert
+    assertFalse(entry.shouldRefresh(now, 1.0));
+  }
+
+  @Test
+  void shouldRefresh_WhenPastSoftExpiry_ReturnsTrue() {
+    // Arrange
+    long now = System.currentTimeMillis();
+    CachedValue entry = new CachedValue("value", now - 1, 0);
+
+    // Act & Assert
+    assertTrue(entry.shouldRefresh(now, 1.0));
+  }
+
+  @Test
+  void shouldRefresh_WhenRebuildIsSlowAndExpiryIsNear_RefreshesEarlySometimes() {
+    // Arrange
+    long now = System.currentTimeMillis();
+    CachedValue entry = new CachedValue("value", now + 1_000, 1_000);
+
+    // Act
+    int refreshes = 0;
+    for (int i = 0; i < 1_000; i++) {
+      if (entry.shouldRefresh(now, 1.0)) {
+        refreshes++;
+      }
+    }
+
+    // Assert - P(refresh) = e^-1, roughly 368 of 1000
+    assertTrue(refreshes > 250 && refreshes < 500, "refreshes: " + refreshes);
+  }
+}
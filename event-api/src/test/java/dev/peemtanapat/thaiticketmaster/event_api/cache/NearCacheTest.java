@@ -0,0 +1,639 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NearCacheTest {
+
+  @Mock
+  private RedisTemplate<String, Object> redisTemplate;
+
+  @Mock
+  private StringRedisTemplate stringRedisTemplate;
+
+  @Mock
+  private ValueOperations<String, Object> valueOperations;
+
+  @Mock
+  private ZSetOperations<String, String> zSetOperations;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private RedisCircuitBreaker breaker;
+
+  private NearCache nearCache;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    lenient().when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    meterRegistry = new SimpleMeterRegistry();
+    breaker = new RedisCircuitBreaker(meterRegistry, 4, 0.5, Duration.ofSeconds(1), Duration.ofMinutes(1), 1);
+    RedisLease redisLease = new RedisLease(stringRedisTemplate, breaker, false,
+        Duration.ofSeconds(5), Duration.ofSeconds(2), Duration.ofMillis(50));
+    nearCache = new NearCache(redisTemplate, stringRedisTemplate, redisLease, breaker,
+        new CacheMetrics(meterRegistry), Optional.empty(), 100, Duration.ofMinutes(1), 1.0, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    nearCache.shutdown();
+  }
+
+  // ========== READ TESTS ==========
+
+  @Test
+  void get_WhenRedisHit_ServesSubsequentReadsFromLocal() {
+    // Arrange
+    when(valueOperations.get("event:1")).thenReturn("value");
+
+    // Act
+    Object first = nearCache.get("event:1");
+    Object second = nearCache.get("event:1");
+
+    // Assert
+    assertEquals("value", first);
+    assertEquals("value", second);
+    verify(valueOperations, times(1)).get("event:1");
+  }
+
+  @Test
+  void get_WhenRedisMiss_ReturnsNullAndDoesNotCache() {
+    // Arrange
+    when(valueOperations.get("event:1")).thenReturn(null);
+
+    // Act
+    nearCache.get("event:1");
+    Object result = nearCache.get("event:1");
+
+    // Assert
+    assertNull(result);
+    verify(valueOperations, times(2)).get("event:1");
+  }
+
+  @Test
+  void get_CountsHitsAndMissesPerTierAndFamily() {
+    // Arrange
+    when(valueOperations.get("event:1")).thenReturn("value");
+
+    // Act
+    nearCache.get("event:1");
+    nearCache.get("event:1");
+    nearCache.get("event:2");
+
+    // Assert
+    assertEquals(1.0, gets("event", CacheMetrics.TIER_LOCAL, "hit"));
+    assertEquals(2.0, gets("event", CacheMetrics.TIER_LOCAL, "miss"));
+    assertEquals(1.0, gets("event", CacheMetrics.TIER_REDIS, "hit"));
+    assertEquals(1.0, gets("event", CacheMetrics.TIER_REDIS, "miss"));
+  }
+
+  // ========== LOAD TESTS ==========
+
+  @Test
+  void getOrLoad_WhenMiss_LoadsAndCaches() {
+    // Arrange
+    when(valueOperations.get("event:1")).thenReturn(null);
+    when(valueOperations.setIfAbsent("event:1", "loaded", 1, TimeUnit.HOURS)).thenReturn(true);
+
+    // Act
+    Object result = nearCache.getOrLoad("event:1", 1, TimeUnit.HOURS, () -> "loaded");
+    Object cached = nearCache.getOrLoad("event:1", 1, TimeUnit.HOURS, () -> "reloaded");
+
+    // Assert
+    assertEquals("loaded", result);
+    assertEquals("loaded", cached);
+    verify(valueOperations, times(1)).setIfAbsent("event:1", "loaded", 1, TimeUnit.HOURS);
+    verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+  }
+
+  @Test
+  void getOrLoad_WhenMiss_TimesTheLoad() {
+    // Arrange
+    when(valueOperations.get("events:onsale")).thenReturn(null);
+
+    // Act
+    nearCache.getOrLoad("events:onsale", 1, TimeUnit.HOURS, () -> "loaded");
+
+    // Assert
+    assertEquals(1, meterRegistry.get("cache.loader.time").tag("family", "events:onsale").tag("result", "success")
+        .timer().count());
+  }
+
+  @Test
+  void getOrLoad_WhenLoaderThrows_PropagatesAndDoesNotCache() {
+    // Arrange
+    when(valueOperations.get("event:999")).thenReturn(null);
+
+    // Act & Assert
+    assertThrows(IllegalStateException.class, () -> nearCache.getOrLoad("event:999", 1, TimeUnit.HOURS, () -> {
+      throw new IllegalStateException("not found");
+    }));
+    verify(valueOperations, never()).setIfAbsent(anyString(), any(), anyLong(), any(TimeUnit.class));
+  }
+
+  // ========== STALE-WHILE-REVALIDATE TESTS ==========
+
+  @Test
+  void getOrRefresh_WhenMissing_LoadsAndStoresEntryWithHardTtl() {
+    // Arrange
+    when(valueOperations.get("events:all")).thenReturn(null);
+
+    // Act
+    Object result = nearCache.getOrRefresh("events:all", Duration.ofMinutes(15), Duration.ofMinutes(75),
+        () -> "loaded");
+
+    // Assert
+    assertEquals("loaded", result);
+    verify(valueOperations, times(1)).set(eq("events:all"), any(CachedValue.class),
+        eq(Duration.ofMinutes(75).toMillis()), eq(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void getOrRefresh_WhenFresh_ReturnsCachedValueWithoutLoading() {
+    // Arrange
+    AtomicInteger loads = new AtomicInteger();
+    when(valueOperations.get("events:all"))
+        .thenReturn(new CachedValue("cached", System.currentTimeMillis() + 60_000, 0));
+
+    // Act
+    Object result = nearCache.getOrRefresh("events:all", Duration.ofMinutes(15), Duration.ofMinutes(75), () -> {
+      loads.incrementAndGet();
+      return "loaded";
+    });
+
+    // Assert
+    assertEquals("cached", result);
+    assertEquals(0, loads.get());
+  }
+
+  @Test
+  void getOrRefresh_WhenSoftExpired_ReturnsStaleAndRefreshesInBackground() {
+    // Arrange
+    when(valueOperations.get("events:all"))
+        .thenReturn(new CachedValue("stale", System.currentTimeMillis() - 1_000, 10));
+
+    // Act
+    Object result = nearCache.getOrRefresh("events:all", Duration.ofMinutes(15), Duration.ofMinutes(75),
+        () -> "fresh");
+
+    // Assert
+    assertEquals("stale", result);
+    verify(valueOperations, timeout(1_000)).set(eq("events:all"),
+        argThat(value -> value instanceof CachedValue entry && "fresh".equals(entry.getValue())),
+        eq(Duration.ofMinutes(75).toMillis()), eq(TimeUnit.MILLISECONDS));
+    verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+  }
+
+  @Test
+  void getOrRefresh_WhenPeerAlreadyRefreshed_AdoptsItsEntryWithoutLoading() throws InterruptedException {
+    // Arrange
+    AtomicInteger loads = new AtomicInteger();
+    when(valueOperations.get("events:all"))
+        .thenReturn(new CachedValue("stale", System.currentTimeMillis() - 1_000, 10))
+        .thenReturn(new CachedValue("fresh", System.currentTimeMillis() + 60_000, 10));
+
+    // Act
+    Object result = nearCache.getOrRefresh("events:all", Duration.ofMinutes(15), Duration.ofMinutes(75), () -> {
+      loads.incrementAndGet();
+      return "loaded";
+    });
+    long deadline = System.currentTimeMillis() + 1_000;
+    while (!"fresh".equals(nearCache.getOrRefresh("events:all", Duration.ofMinutes(15), Duration.ofMinutes(75),
+        () -> "loaded")) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    // Assert
+    assertEquals("stale", result);
+    assertEquals("fresh", nearCache.get("events:all") instanceof CachedValue entry ? entry.getValue() : null);
+    assertEquals(0, loads.get());
+    verify(valueOperations, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+  }
+
+  @Test
+  void multiGet_FetchesOnlyLocalMissesInOneCall() {
+    // Arrange
+    nearCache.put("event:1", "one", 1, TimeUnit.HOURS);
+    when(valueOperations.multiGet(List.of("event:2", "event:3"))).thenReturn(Arrays.asList("two", null));
+
+    // Act
+    List<Object> result = nearCache.multiGet(List.of("event:1", "event:2", "event:3"));
+
+    // Assert
+    assertEquals(Arrays.asList("one", "two", null), result);
+    assertEquals("two", nearCache.get("event:2"));
+    verify(valueOperations, never()).get("event:2");
+  }
+
+  // ========== INDEX TESTS ==========
+
+  @Test
+  void getIndex_WhenLoaded_ServesSubsequentReadsFromLocal() {
+    // Arrange
+    when(zSetOperations.rangeWithScores("events:all:ids", 0, -1)).thenReturn(tuples("1", 1.0, "2", 2.0));
+
+    // Act
+    nearCache.getIndex("events:all:ids");
+    IndexSnapshot result = nearCache.getIndex("events:all:ids");
+
+    // Assert
+    assertEquals(List.of(1L, 2L), result.ids());
+    verify(zSetOperations, times(1)).rangeWithScores("events:all:ids", 0, -1);
+  }
+
+  // ========== VERSION TESTS ==========
+
+  @Test
+  void getVersion_WhenLoaded_ServesSubsequentReadsFromLocal() {
+    // Arrange
+    when(stringRedisTemplate.execute(eq(NearCache.READ_VERSION_SCRIPT), eq(List.of("events:version")), anyString()))
+        .thenReturn(42L);
+
+    // Act
+    nearCache.getVersion("events:version");
+    Long result = nearCache.getVersion("events:version");
+
+    // Assert
+    assertEquals(42L, result);
+    verify(stringRedisTemplate, times(1))
+        .execute(eq(NearCache.READ_VERSION_SCRIPT), eq(List.of("events:version")), anyString());
+  }
+
+  @Test
+  void getVersion_WhenRedisDown_ReturnsNull() {
+    // Arrange
+    when(stringRedisTemplate.execute(eq(NearCache.READ_VERSION_SCRIPT), eq(List.of("events:version")), anyString()))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    // Act & Assert
+    assertNull(nearCache.getVersion("events:version"));
+  }
+
+  @Test
+  void addToIndex_AddsMemberAndDropsLocalSnapshot() {
+    // Arrange
+    when(zSetOperations.rangeWithScores("events:all:ids", 0, -1))
+        .thenReturn(tuples("1", 1.0), tuples("1", 1.0, "2", 2.0));
+    nearCache.getIndex("events:all:ids");
+
+    // Act
+    nearCache.addToIndex("events:all:ids", 2L, 2.0, Duration.ofMinutes(5));
+    IndexSnapshot result = nearCache.getIndex("events:all:ids");
+
+    // Assert
+    verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("events:all:ids")), eq("2.0"), eq("2"), eq("300"));
+    verify(stringRedisTemplate).convertAndSend(eq(NearCache.INVALIDATION_CHANNEL), contains("events:all:ids"));
+    assertEquals(List.of(1L, 2L), result.ids());
+  }
+
+  // ========== WRITE TESTS ==========
+
+  @Test
+  void put_WritesRedisAndLocalAndPublishesInvalidation() {
+    // Act
+    nearCache.put("event:1", "value", 1, TimeUnit.HOURS);
+    Object result = nearCache.get("event:1");
+
+    // Assert
+    assertEquals("value", result);
+    verify(valueOperations, times(1)).set("event:1", "value", 1, TimeUnit.HOURS);
+    verify(valueOperations, never()).get(anyString());
+    verify(stringRedisTemplate, times(1)).convertAndSend(eq(NearCache.INVALIDATION_CHANNEL), contains("event:1"));
+  }
+
+  @Test
+  void fill_WritesRedisAndLocalWithoutPublishing() {
+    // Arrange
+    when(valueOperations.setIfAbsent("event:1", "value", 1, TimeUnit.HOURS)).thenReturn(true);
+
+    // Act
+    nearCache.fill("event:1", "value", 1, TimeUnit.HOURS);
+    Object result = nearCache.get("event:1");
+
+    // Assert
+    assertEquals("value", result);
+    verify(valueOperations, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+    verify(valueOperations, never()).get(anyString());
+    verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+  }
+
+  @Test
+  void fill_AfterPut_DoesNotReplaceTheNewerValue() {
+    // Arrange
+    nearCache.put("event:1", "new", 1, TimeUnit.HOURS);
+    when(valueOperations.setIfAbsent("event:1", "old", 1, TimeUnit.HOURS)).thenReturn(false);
+    when(valueOperations.get("event:1")).thenReturn("new");
+
+    // Act
+    nearCache.fill("event:1", "old", 1, TimeUnit.HOURS);
+    Object result = nearCache.get("event:1");
+
+    // Assert
+    assertEquals("new", result);
+    verify(valueOperations, never()).set("event:1", "old", 1, TimeUnit.HOURS);
+  }
+
+  @Test
+  void fillAll_WritesOnePipelineWithoutPublishing() {
+    // Arrange
+    RedisConnection connection = mock(RedisConnection.class, RETURNS_DEEP_STUBS);
+    when(redisTemplate.getValueSerializer()).thenAnswer(invocation -> RedisSerializer.string());
+    when(redisTemplate.executePipelined(any(RedisCallback.class)))
+        .thenAnswer(invocation -> {
+          invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+          return List.of(true, true);
+        });
+
+    // Act
+    nearCache.fillAll(orderedMap("event:1", "one", "event:2", "two"), 1, TimeUnit.HOURS);
+
+    // Assert
+    verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    verify(connection.stringCommands()).set(aryEq(bytes("event:1")), aryEq(bytes("one")), any(),
+        eq(SetOption.ifAbsent()));
+    verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+    assertEquals("one", nearCache.get("event:1"));
+    assertEquals("two", nearCache.get("event:2"));
+  }
+
+  @Test
+  void fillAll_WhenKeyAlreadySet_LeavesItOutOfLocal() {
+    // Arrange
+    when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true, false));
+    when(valueOperations.get("event:2")).thenReturn("newer");
+
+    // Act
+    nearCache.fillAll(orderedMap("event:1", "one", "event:2", "two"), 1, TimeUnit.HOURS);
+
+    // Assert
+    assertEquals("one", nearCache.get("event:1"));
+    assertEquals("newer", nearCache.get("event:2"));
+    verify(valueOperations, never()).get("event:1");
+  }
+
+  @Test
+  void evict_DeletesFromRedisAndLocal() {
+    // Arrange
+    nearCache.put("events:all", "value", 1, TimeUnit.HOURS);
+
+    // Act
+    nearCache.evict("events:all", "events:onsale");
+
+    // Assert
+    assertNull(nearCache.get("events:all"));
+    verify(redisTemplate, times(1)).unlink(List.of("events:all", "events:onsale"));
+  }
+
+  @Test
+  void evict_CountsRedisEvictionsPerFamily() {
+    // Act
+    nearCache.evict("event:1", "event:2", "events:all");
+
+    // Assert
+    assertEquals(2.0, meterRegistry.get("cache.entries.evicted").tag("family", "event")
+        .tag("tier", CacheMetrics.TIER_REDIS).counter().count());
+    assertEquals(1.0, meterRegistry.get("cache.entries.evicted").tag("family", "events:all")
+        .tag("tier", CacheMetrics.TIER_REDIS).counter().count());
+  }
+
+  // ========== AFTER-COMMIT TESTS ==========
+
+  @Test
+  void afterCommit_InTransaction_WritesEverythingInOnePipelineAfterCommit() {
+    // Arrange
+    RedisConnection connection = mock(RedisConnection.class, RETURNS_DEEP_STUBS);
+    when(redisTemplate.getValueSerializer()).thenAnswer(invocation -> RedisSerializer.string());
+    when(redisTemplate.executePipelined(any(RedisCallback.class)))
+        .thenAnswer(invocation -> {
+          invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+          return List.of();
+        });
+    TransactionSynchronizationManager.initSynchronization();
+
+    try {
+      // Act
+      nearCache.afterCommit(batch -> batch.put("event:1", "value", 1, TimeUnit.HOURS));
+      nearCache.afterCommit(batch -> {
+        batch.evict("event:2");
+        batch.removeFromIndex("events:all:ids", 2L);
+      });
+      verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+      // Assert
+      verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+      verify(connection.stringCommands()).set(aryEq(bytes("event:1")), aryEq(bytes("value")), any(), any());
+      verify(connection.keyCommands()).unlink(aryEq(bytes("event:2")));
+      verify(connection.zSetCommands()).zRem(aryEq(bytes("events:all:ids")), aryEq(bytes("2")));
+      verify(stringRedisTemplate, times(1)).convertAndSend(eq(NearCache.INVALIDATION_CHANNEL),
+          argThat((String message) -> message.endsWith("\nevent:1\nevent:2\nevents:all:ids")));
+      assertEquals("value", nearCache.get("event:1"));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+      TransactionSynchronizationManager.unbindResourceIfPossible(nearCache);
+    }
+  }
+
+  @Test
+  void afterCommit_WhenRolledBack_WritesNothing() {
+    // Arrange
+    TransactionSynchronizationManager.initSynchronization();
+
+    try {
+      // Act
+      nearCache.afterCommit(batch -> batch.put("event:1", "value", 1, TimeUnit.HOURS));
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+      // Assert
+      verifyNoInteractions(redisTemplate);
+      assertFalse(TransactionSynchronizationManager.hasResource(nearCache));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void putAll_WithAsyncWriter_HandsBatchOverInsteadOfPipelining() {
+    // Arrange
+    AsyncCacheWriter asyncCacheWriter = mock(AsyncCacheWriter.class);
+    RedisLease redisLease = new RedisLease(stringRedisTemplate, breaker, false,
+        Duration.ofSeconds(5), Duration.ofSeconds(2), Duration.ofMillis(50));
+    NearCache asyncNearCache = new NearCache(redisTemplate, stringRedisTemplate, redisLease, breaker,
+        new CacheMetrics(meterRegistry), Optional.of(asyncCacheWriter), 100, Duration.ofMinutes(1), 1.0, 1);
+
+    try {
+      // Act
+      asyncNearCache.putAll(Map.of("event:1", "one"), 1, TimeUnit.HOURS);
+
+      // Assert
+      verify(asyncCacheWriter).write(argThat(writes -> writes.size() == 1 && writes.get(0).key().equals("event:1")), any());
+      verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+      verify(stringRedisTemplate).convertAndSend(eq(NearCache.INVALIDATION_CHANNEL), contains("event:1"));
+      assertEquals("one", asyncNearCache.get("event:1"));
+    } finally {
+      asyncNearCache.shutdown();
+    }
+  }
+
+  // ========== REDIS OUTAGE TESTS ==========
+
+  @Test
+  void getOrLoad_WhenRedisDown_LoadsAndServesFromLocal() {
+    // Arrange
+    when(valueOperations.get("event:1")).thenThrow(new RedisConnectionFailureException("down"));
+    when(valueOperations.setIfAbsent(anyString(), any(), anyLong(), any(TimeUnit.class)))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    // Act
+    Object loaded = nearCache.getOrLoad("event:1", 1, TimeUnit.HOURS, () -> "loaded");
+    Object cached = nearCache.getOrLoad("event:1", 1, TimeUnit.HOURS, () -> "reloaded");
+
+    // Assert
+    assertEquals("loaded", loaded);
+    assertEquals("loaded", cached);
+  }
+
+  @Test
+  void get_WhenBreakerOpen_SkipsRedis() {
+    // Arrange
+    when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+    for (int i = 0; i < 4; i++) {
+      nearCache.get("event:" + i);
+    }
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+
+    // Act
+    Object result = nearCache.get("event:9");
+
+    // Assert
+    assertNull(result);
+    verify(valueOperations, never()).get("event:9");
+  }
+
+  @Test
+  void evict_WhenRedisDown_EvictsAgainOnceRedisAnswers() {
+    // Arrange
+    when(redisTemplate.unlink(List.of("event:1"))).thenThrow(new RedisConnectionFailureException("down"))
+        .thenReturn(1L);
+    nearCache.evict("event:1");
+
+    // Act
+    nearCache.put("event:2", "value", 1, TimeUnit.HOURS);
+
+    // Assert
+    verify(redisTemplate, times(2)).unlink(List.of("event:1"));
+  }
+
+  @Test
+  void getIndex_WhenRedisDown_ThrowsCacheUnavailable() {
+    // Arrange
+    when(zSetOperations.rangeWithScores("events:all:ids", 0, -1))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    // Act & Assert
+    assertThrows(CacheUnavailableException.class, () -> nearCache.getIndex("events:all:ids"));
+  }
+
+  // ========== INVALIDATION MESSAGE TESTS ==========
+
+  @Test
+  void onMessage_FromOtherInstance_DropsLocalEntry() {
+    // Arrange
+    when(valueOperations.get("event:1")).thenReturn("old", "new");
+    nearCache.get("event:1");
+
+    // Act
+    nearCache.onMessage(message("other-instance\nevent:1"), null);
+    Object result = nearCache.get("event:1");
+
+    // Assert
+    assertEquals("new", result);
+    verify(valueOperations, times(2)).get("event:1");
+  }
+
+  @Test
+  void onMessage_FromSameInstance_KeepsLocalEntry() {
+    // Arrange
+    nearCache.put("event:1", "value", 1, TimeUnit.HOURS);
+    ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+    verify(stringRedisTemplate).convertAndSend(eq(NearCache.INVALIDATION_CHANNEL), published.capture());
+
+    // Act
+    nearCache.onMessage(message(published.getValue()), null);
+
+    // Assert
+    assertEquals("value", nearCache.get("event:1"));
+    verify(valueOperations, never()).get(anyString());
+  }
+
+  private double gets(String family, String tier, String result) {
+    return meterRegistry.get("cache.requests").tag("family", family).tag("tier", tier).tag("result", result)
+        .counter().count();
+  }
+
+  private Set<ZSetOperations.TypedTuple<String>> tuples(Object... memberScores) {
+    Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>();
+    for (int i = 0; i < memberScores.length; i += 2) {
+      tuples.add(new DefaultTypedTuple<>((String) memberScores[i], (Double) memberScores[i + 1]));
+    }
+    return tuples;
+  }
+
+  private Map<String, Object> orderedMap(Object... keyValues) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      map.put((String) keyValues[i], keyValues[i + 1]);
+    }
+    return map;
+  }
+
+  private DefaultMessage message(String body) {
+    return new DefaultMessage(NearCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+        body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,160 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisCircuitBreakerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void execute_WhenFailureRateReached_OpensAndRejectsCalls() {
+    // Arrange
+    RedisCircuitBreaker breaker = breaker(Duration.ofSeconds(1), Duration.ofMinutes(1));
+    AtomicInteger calls = new AtomicInteger();
+
+    // Act
+    fail(breaker);
+    succeed(breaker);
+    fail(breaker);
+    succeed(breaker);
+
+    // Assert
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+    assertThrows(CacheUnavailableException.class, () -> breaker.execute(calls::incrementAndGet));
+    assertEquals(0, calls.get());
+    assertEquals(1.0, meterRegistry.get("cache.redis.breaker.rejected").counter().count());
+    assertEquals(1.0, meterRegistry.get("cache.redis.breaker.transitions").tag("from", "closed").tag("to", "open")
+        .counter().count());
+  }
+
+  @Test
+  void execute_WhenBelowFailureRate_StaysClosed() {
+    // Arrange
+    RedisCircuitBreaker breaker = breaker(Duration.ofSeconds(1), Duration.ofMinutes(1));
+
+    // Act
+    fail(breaker);
+    succeed(breaker);
+    succeed(breaker);
+    succeed(breaker);
+
+    // Assert
+    assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  void execute_CountsSlowCallsAsFailures() {
+    // Arrange
+    RedisCircuitBreaker breaker = breaker(Duration.ZERO, Duration.ofMinutes(1));
+
+    // Act
+    for (int i = 0; i < 4; i++) {
+      breaker.execute(() -> {
+        sleep(2);
+        return null;
+      });
+    }
+
+    // Assert
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  @Test
+  void execute_WhenProbesSucceedAfterOpenDuration_ClosesAndNotifies() {
+    // Arrange
+    RedisCircuitBreaker breaker = breaker(Duration.ofSeconds(1), Duration.ZERO);
+    AtomicInteger closed = new AtomicInteger();
+    breaker.addCloseListener(closed::incrementAndGet);
+    for (int i = 0; i < 4; i++) {
+      fail(breaker);
+    }
+
+    // Act
+    succeed(breaker);
+    assertEquals(RedisCircuitBreaker.State.HALF_OPEN, breaker.getState());
+    succeed(breaker);
+
+    // Assert
+    assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.getState());
+    assertEquals(1, closed.get());
+  }
+
+  @Test
+  void execute_WhenProbeFails_OpensAgain() {
+    // Arrange
+    RedisCircuitBreaker breaker = breaker(Duration.ofSeconds(1), Duration.ZERO);
+    for (int i = 0; i < 4; i++) {
+      fail(breaker);
+    }
+
+    // Act
+    fail(breaker);
+
+    // Assert
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  @Test
+  void execute_FromManyThreads_KeepsWindowCountExact() throws InterruptedException {
+    // Arrange
+    RedisCircuitBreaker breaker = breaker(Duration.ofSeconds(1), Duration.ofMinutes(1));
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> {
+        for (int call = 0; call < 10_000; call++) {
+          succeed(breaker);
+        }
+      });
+    }
+
+    // Act
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    fail(breaker);
+    assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.getState());
+    fail(breaker);
+
+    // Assert
+    assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  // Window of 4 calls, opens at 50% bad, 2 half-open probes
+  private RedisCircuitBreaker breaker(Duration slowCall, Duration openDuration) {
+    return new RedisCircuitBreaker(meterRegistry, 4, 0.5, slowCall, openDuration, 2);
+  }
+
+  private static void fail(RedisCircuitBreaker breaker) {
+    assertThrows(CacheUnavailableException.class, () -> breaker.execute(() -> {
+      throw new RedisConnectionFailureException("down");
+    }));
+  }
+
+  private static void succeed(RedisCircuitBreaker breaker) {
+    assertEquals("ok", breaker.execute(() -> "ok"));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisLeaseTest {
+
+  @Mock
+  private StringRedisTemplate stringRedisTemplate;
+
+  @Mock
+  private ValueOperations<String, String> valueOperations;
+
+  private RedisCircuitBreaker breaker;
+
+  private RedisLease redisLease;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    breaker = new RedisCircuitBreaker(new SimpleMeterRegistry(), 50, 0.5,
+        Duration.ofSeconds(1), Duration.ofSeconds(10), 5);
+    redisLease = new RedisLease(stringRedisTemplate, breaker, true,
+        Duration.ofSeconds(5), Duration.ofMillis(200), Duration.ofMillis(10));
+  }
+
+  @Test
+  void callExclusively_WhenLeaseAcquired_RunsLoaderAndReleases() {
+    // Arrange
+    when(valueOperations.setIfAbsent(eq("lease:events:all"), anyString(), any(Duration.class))).thenReturn(true);
+
+    // Act
+    String result = redisLease.callExclusively("events:all", () -> "peeked", () -> "loaded");
+
+    // Assert
+    assertEquals("loaded", result);
+    verify(stringRedisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of("lease:events:all")), anyString());
+  }
+
+  @Test
+  void callExclusively_WhenRedisUnavailable_LoadsWithoutLease() {
+    // Arrange
+    when(valueOperations.setIfAbsent(eq("lease:events:all"), anyString(), any(Duration.class)))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    // Act
+    String result = redisLease.callExclusively("events:all", () -> "peeked", () -> "loaded");
+
+    // Assert
+    assertEquals("loaded", result);
+    verify(stringRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+  }
+
+  @Test
+  void callExclusively_WhenLeaseHeldElsewhere_ReturnsOtherReplicaResult() {
+    // Arrange
+    when(valueOperations.setIfAbsent(eq("lease:events:all"), anyString(), any(Duration.class))).thenReturn(false);
+
+    // Act
+    String result = redisLease.callExclusively("events:all", () -> "peeked", () -> "loaded");
+
+    // Assert
+    assertEquals("peeked", result);
+    verify(stringRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+  }
+
+  @Test
+  void callExclusively_WhenHolderNeverPublishes_FallsBackToLoader() {
+    // Arrange
+    when(valueOperations.setIfAbsent(eq("lease:events:all"), anyString(), any(Duration.class))).thenReturn(false);
+
+    // Act
+    String result = redisLease.callExclusively("events:all", () -> null, () -> "loaded");
+
+    // Assert
+    assertEquals("loaded", result);
+  }
+
+  @Test
+  void callExclusively_WhenDisabled_RunsLoaderWithoutRedis() {
+    // Arrange
+    RedisLease disabled = new RedisLease(stringRedisTemplate, breaker, false,
+        Duration.ofSeconds(5), Duration.ofMillis(200), Duration.ofMillis(10));
+
+    // Act
+    String result = disabled.callExclusively("events:all", () -> "peeked", () -> "loaded");
+
+    // Assert
+    assertEquals("loaded", result);
+    verifyNoInteractions(stringRedisTemplate);
+  }
+}
@@ -0,0 +1,125 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseBodyCacheTest {
+
+  private ResponseBodyCache responseBodyCache;
+  private AtomicInteger serializations;
+  private Supplier<List<String>> body;
+
+  @BeforeEach
+  void setUp() {
+    responseBodyCache = new ResponseBodyCache(new ObjectMapper(), new CacheMetrics(new SimpleMeterRegistry()),
+        DataSize.ofMegabytes(1), Duration.ofMinutes(10), 9, 9);
+    serializations = new AtomicInteger();
+    body = () -> {
+      serializations.incrementAndGet();
+      return List.of("Concert detail and conditions. ".repeat(20));
+    };
+  }
+
+  @Test
+  void getJson_WhenSameETag_SerializesOnce() {
+    // Act
+    byte[] first = responseBodyCache.getJson("events:all", "\"l1\"", body);
+    byte[] second = responseBodyCache.getJson("events:all", "\"l1\"", body);
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(1, serializations.get());
+  }
+
+  @Test
+  void getJson_WhenETagChanges_SerializesAgain() {
+    // Act
+    responseBodyCache.getJson("events:all", "\"l1\"", body);
+    responseBodyCache.getJson("events:all", "\"l2\"", body);
+
+    // Assert
+    assertEquals(2, serializations.get());
+  }
+
+  @Test
+  void getJson_WhenNoETag_SerializesEveryTime() {
+    // Act
+    responseBodyCache.getJson("events:all", null, body);
+    responseBodyCache.getJson("events:all", null, body);
+
+    // Assert
+    assertEquals(2, serializations.get());
+  }
+
+  @Test
+  void getJson_WhenETagChangesDuringBuild_ServesBodyWithoutCachingIt() {
+    // Act
+    responseBodyCache.getJson("events:all", "\"l1\"", body, () -> "\"l2\"");
+    responseBodyCache.getJson("events:all", "\"l1\"", body, () -> "\"l1\"");
+    responseBodyCache.getJson("events:all", "\"l1\"", body, () -> "\"l1\"");
+
+    // Assert
+    assertEquals(2, serializations.get());
+  }
+
+  @Test
+  void getEncoded_WhenETagChangesDuringBuild_CachesNoVariant() {
+    // Act
+    responseBodyCache.getEncoded("events:all", "\"l1\"", ResponseBodyCache.GZIP, body, () -> "\"l2\"");
+    responseBodyCache.getEncoded("events:all", "\"l1\"", ResponseBodyCache.GZIP, body, () -> "\"l1\"");
+
+    // Assert
+    assertEquals(2, serializations.get());
+  }
+
+  @Test
+  void getEncoded_WhenGzip_CompressesJsonOncePerVersion() throws IOException {
+    // Act
+    byte[] gzip = responseBodyCache.getEncoded("events:all", "\"l1\"", ResponseBodyCache.GZIP, body);
+    byte[] again = responseBodyCache.getEncoded("events:all", "\"l1\"", ResponseBodyCache.GZIP, body);
+    byte[] json = responseBodyCache.getJson("events:all", "\"l1\"", body);
+
+    // Assert
+    assertSame(gzip, again);
+    assertTrue(gzip.length < json.length);
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+      assertEquals(new String(json, StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    assertEquals(1, serializations.get());
+  }
+
+  @Test
+  void negotiateEncoding_PicksGzipWhenOnlyGzipAccepted() {
+    assertEquals(ResponseBodyCache.GZIP, responseBodyCache.negotiateEncoding("gzip, deflate"));
+  }
+
+  @Test
+  void negotiateEncoding_HonorsZeroQuality() {
+    assertNull(responseBodyCache.negotiateEncoding("gzip;q=0, identity"));
+    assertNull(responseBodyCache.negotiateEncoding("*;q=0"));
+    assertNull(responseBodyCache.negotiateEncoding(null));
+  }
+
+  @Test
+  void negotiateEncoding_WhenBrotliAccepted_PrefersItIfAvailable() {
+    // Act
+    String encoding = responseBodyCache.negotiateEncoding("gzip, deflate, br");
+
+    // Assert: brotli needs the native library, gzip is the fallback
+    assertTrue(ResponseBodyCache.BROTLI.equals(encoding) || ResponseBodyCache.GZIP.equals(encoding));
+  }
+}
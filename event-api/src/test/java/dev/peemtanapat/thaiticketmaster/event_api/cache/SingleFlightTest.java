@@ -0,0 +1,90 @@
+package dev.peemtanapat.thaiticketmaster.event_api.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+  private final SingleFlight singleFlight = new SingleFlight();
+
+  @Test
+  void execute_WhenConcurrentCallsForSameKey_RunsLoaderOnce() throws Exception {
+    // Arrange
+    int callers = 8;
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loaderStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+    try {
+      // Act
+      List<Future<String>> results = new ArrayList<>();
+      results.add(executor.submit(() -> singleFlight.execute("events:all", () -> {
+        loads.incrementAndGet();
+        loaderStarted.countDown();
+        await(release);
+        return "loaded";
+      })));
+      assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+      for (int i = 1; i < callers; i++) {
+        results.add(executor.submit(() -> singleFlight.execute("events:all", () -> {
+          loads.incrementAndGet();
+          return "duplicate";
+        })));
+      }
+      // Give the followers time to join the in-flight call before it completes
+      Thread.sleep(100);
+      release.countDown();
+
+      // Assert
+      for (Future<String> result : results) {
+        assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void execute_WhenLoaderThrows_PropagatesOriginalException() {
+    // Act & Assert
+    IllegalStateException exception = assertThrows(IllegalStateException.class,
+        () -> singleFlight.execute("event:999", () -> {
+          throw new IllegalStateException("boom");
+        }));
+
+    assertEquals("boom", exception.getMessage());
+  }
+
+  @Test
+  void execute_AfterCompletion_RunsLoaderAgain() {
+    // Arrange
+    AtomicInteger loads = new AtomicInteger();
+
+    // Act
+    singleFlight.execute("event:1", loads::incrementAndGet);
+    singleFlight.execute("event:1", loads::incrementAndGet);
+
+    // Assert
+    assertEquals(2, loads.get());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package dev.peemtanapat.thaiticketmaster.event_api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressingRedisSerializerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private CompressingRedisSerializer serializer;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    serializer = new CompressingRedisSerializer(RedisConfig.jsonSerializer(), 1024, meterRegistry);
+  }
+
+  @Test
+  void serialize_WhenAboveThreshold_CompressesAndRoundTrips() {
+    // Arrange
+    String detail = "Ticket prices: 1500 / 2500 / 3500 THB. ".repeat(100);
+
+    // Act
+    byte[] bytes = serializer.serialize(detail);
+    Object result = serializer.deserialize(bytes);
+
+    // Assert
+    assertEquals(CompressingRedisSerializer.MAGIC, bytes[0]);
+    assertTrue(bytes.length < detail.length() / 4);
+    assertEquals(detail, result);
+    assertEquals(1, meterRegistry.get("cache.compression.ratio").summary().count());
+    assertEquals(1, meterRegistry.get("cache.compression.time").tag("operation", "decompress").timer().count());
+  }
+
+  @Test
+  void serialize_WhenBelowThreshold_StoresAsIs() {
+    // Act
+    byte[] bytes = serializer.serialize("short");
+
+    // Assert
+    assertArrayEquals(RedisConfig.jsonSerializer().serialize("short"), bytes);
+    assertEquals("short", serializer.deserialize(bytes));
+    assertEquals(1.0, meterRegistry.get("cache.compression.skipped").counter().count());
+  }
+
+  @Test
+  void deserialize_ReadsUncompressedEntriesWrittenBeforehand() {
+    // Arrange
+    String detail = "x".repeat(2000);
+    byte[] plain = RedisConfig.jsonSerializer().serialize(detail);
+
+    // Act
+    Object result = serializer.deserialize(plain);
+
+    // Assert
+    assertEquals(detail, result);
+  }
+}
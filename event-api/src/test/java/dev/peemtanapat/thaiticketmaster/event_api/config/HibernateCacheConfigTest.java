@@ -0,0 +1,80 @@
+package dev.peemtanapat.thaiticketmaster.event_api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import dev.peemtanapat.thaiticketmaster.event_api.event.Category;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HibernateCacheConfigTest {
+
+  private final HibernateCacheConfig config = new HibernateCacheConfig();
+
+  @Test
+  void hibernateCacheManager_CreatesCategoryRegionBounded() {
+    // Act
+    try (CacheManager cacheManager = config.hibernateCacheManager(new MockEnvironment(), true)) {
+      // Assert
+      CaffeineConfiguration<?, ?> configuration = regionConfiguration(cacheManager, Category.CACHE_REGION);
+      assertTrue(configuration.getMaximumSize().isPresent());
+      assertTrue(configuration.getExpireAfterWrite().isPresent());
+      assertTrue(configuration.isStatisticsEnabled());
+    }
+  }
+
+  @Test
+  void hibernateCacheProperties_LeavesQueryCacheOff() {
+    // Arrange
+    Map<String, Object> properties = new HashMap<>();
+
+    // Act
+    try (CacheManager cacheManager = config.hibernateCacheManager(new MockEnvironment(), false)) {
+      config.hibernateCacheProperties(cacheManager, false).customize(properties);
+    }
+
+    // Assert
+    assertEquals(true, properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+    assertEquals(false, properties.get(AvailableSettings.USE_QUERY_CACHE));
+  }
+
+  @Test
+  void hibernateCacheManager_AppliesConfiguredRegionSize() {
+    // Arrange
+    MockEnvironment environment = new MockEnvironment()
+        .withProperty("event-api.cache.hibernate.regions.category.maximum-size", "50");
+
+    // Act
+    try (CacheManager cacheManager = config.hibernateCacheManager(environment, false)) {
+      CaffeineConfiguration<?, ?> category = regionConfiguration(cacheManager, Category.CACHE_REGION);
+
+      // Assert
+      assertEquals(OptionalLong.of(50), category.getMaximumSize());
+      assertEquals(OptionalLong.of(Duration.ofHours(1).toNanos()), category.getExpireAfterWrite());
+      assertFalse(category.isStatisticsEnabled());
+    }
+  }
+
+  @Test
+  void hibernateCacheManager_GivesEachContextItsOwnRegions() {
+    // Act
+    try (CacheManager first = config.hibernateCacheManager(new MockEnvironment(), true);
+        CacheManager second = config.hibernateCacheManager(new MockEnvironment(), true)) {
+      // Assert
+      assertNotSame(first, second);
+      first.getCache(Category.CACHE_REGION).put(1L, "cached");
+      assertNull(second.getCache(Category.CACHE_REGION).get(1L));
+    }
+  }
+
+  private static CaffeineConfiguration<?, ?> regionConfiguration(CacheManager cacheManager, String region) {
+    return cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+  }
+}
@@ -0,0 +1,58 @@
+package dev.peemtanapat.thaiticketmaster.event_api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredRedisSerializerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private MeteredRedisSerializer serializer;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    serializer = new MeteredRedisSerializer(RedisConfig.jsonSerializer(), meterRegistry);
+  }
+
+  @Test
+  void serialize_RecordsTimeAndPayloadSizeByValueType() {
+    // Act
+    byte[] bytes = serializer.serialize("value");
+    Object result = serializer.deserialize(bytes);
+
+    // Assert
+    assertEquals("value", result);
+    assertEquals(1, meterRegistry.get("cache.serialization.time").tag("operation", "serialize")
+        .tag("type", "String").timer().count());
+    assertEquals(bytes.length, meterRegistry.get("cache.payload.size").tag("operation", "deserialize")
+        .tag("type", "String").summary().totalAmount());
+  }
+
+  @Test
+  void serialize_ReusesMetersAcrossCalls() {
+    // Act
+    serializer.serialize("first");
+    serializer.serialize("second");
+    serializer.serialize(42L);
+
+    // Assert
+    assertEquals(2, meterRegistry.get("cache.serialization.time").tag("operation", "serialize")
+        .tag("type", "String").timer().count());
+    assertEquals(1, meterRegistry.get("cache.serialization.time").tag("operation", "serialize")
+        .tag("type", "Long").timer().count());
+    assertEquals(4, meterRegistry.getMeters().size());
+  }
+
+  @Test
+  void deserialize_WhenEmpty_RecordsNothing() {
+    // Act
+    Object result = serializer.deserialize(null);
+
+    // Assert
+    assertNull(result);
+    assertTrue(meterRegistry.getMeters().isEmpty());
+  }
+}
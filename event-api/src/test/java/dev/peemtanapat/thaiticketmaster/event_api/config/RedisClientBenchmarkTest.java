@@ -0,0 +1,175 @@
+package dev.peemtanapat.thaiticketmaster.event_api.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Jedis pool versus a shared Lettuce connection under the same concurrency
+ * Each thread reads event-sized values (90% GET, 10% SET with TTL) through
+ * RedisTemplate, the way NearCache does, and the test prints throughput and
+ * latency percentiles for both clients. Opt-in, since it needs Docker and
+ * takes a while: ./mvnw test -Dtest=RedisClientBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RedisClientBenchmarkTest {
+
+  private static final int THREADS = Integer.getInteger("benchmark.threads", 64);
+  private static final int POOL_SIZE = 8; // as in application.yml
+  private static final int KEYS = 1_000;
+  private static final Duration WARM_UP = Duration.ofSeconds(5);
+  private static final Duration MEASURE = Duration.ofSeconds(15);
+
+  private static GenericContainer<?> redis;
+
+  @BeforeAll
+  static void startRedis() {
+    redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+    redis.start();
+  }
+
+  @AfterAll
+  static void stopRedis() {
+    redis.stop();
+  }
+
+  @Test
+  void compareJedisPoolWithSharedLettuceConnection() throws Exception {
+    JedisPoolConfig poolConfig = new JedisPoolConfig();
+    poolConfig.setMaxTotal(POOL_SIZE);
+    poolConfig.setMaxIdle(POOL_SIZE);
+    JedisConnectionFactory jedis = new JedisConnectionFactory(standalone(),
+        JedisClientConfiguration.builder().usePooling().poolConfig(poolConfig).build());
+    LettuceConnectionFactory lettuce = new LettuceConnectionFactory(standalone());
+
+    Result jedisResult = run("jedis (pool of " + POOL_SIZE + ")", jedis);
+    Result lettuceResult = run("lettuce (shared)", lettuce);
+
+    System.out.printf("%n%-22s %12s %10s %10s %10s%n", "client, " + THREADS + " threads", "ops/s", "p50 us",
+        "p99 us", "p99.9 us");
+    for (Result result : new Result[] { jedisResult, lettuceResult }) {
+      System.out.printf("%-22s %12.0f %10d %10d %10d%n", result.name(), result.opsPerSecond(),
+          result.p50Micros(), result.p99Micros(), result.p999Micros());
+    }
+    assertTrue(jedisResult.opsPerSecond() > 0);
+    assertTrue(lettuceResult.opsPerSecond() > 0);
+  }
+
+  private RedisStandaloneConfiguration standalone() {
+    return new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379));
+  }
+
+  private Result run(String name, RedisConnectionFactory factory) throws Exception {
+    if (factory instanceof JedisConnectionFactory jedis) {
+      jedis.afterPropertiesSet();
+      jedis.start();
+    } else if (factory instanceof LettuceConnectionFactory lettuce) {
+      lettuce.afterPropertiesSet();
+      lettuce.start();
+    }
+    RedisTemplate<String, Object> template = new RedisTemplate<>();
+    template.setConnectionFactory(factory);
+    template.setKeySerializer(new StringRedisSerializer());
+    template.setValueSerializer(RedisConfig.jsonSerializer());
+    template.afterPropertiesSet();
+
+    String value = "Concert detail and conditions. ".repeat(40);
+    for (int i = 0; i < KEYS; i++) {
+      template.opsForValue().set("bench:event:" + i, value, 1, TimeUnit.HOURS);
+    }
+
+    try {
+      measure(template, value, WARM_UP);
+      return summarize(name, measure(template, value, MEASURE), MEASURE);
+    } finally {
+      if (factory instanceof JedisConnectionFactory jedis) {
+        jedis.destroy();
+      } else if (factory instanceof LettuceConnectionFactory lettuce) {
+        lettuce.destroy();
+      }
+    }
+  }
+
+  private long[][] measure(RedisTemplate<String, Object> template, String value, Duration duration)
+      throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    AtomicBoolean running = new AtomicBoolean(true);
+    CountDownLatch done = new CountDownLatch(THREADS);
+    long[][] latencies = new long[THREADS][];
+    AtomicLong failures = new AtomicLong();
+
+    for (int t = 0; t < THREADS; t++) {
+      int thread = t;
+      executor.execute(() -> {
+        long[] samples = new long[1 << 16];
+        int count = 0;
+        while (running.get()) {
+          String key = "bench:event:" + ThreadLocalRandom.current().nextInt(KEYS);
+          long start = System.nanoTime();
+          try {
+            if (ThreadLocalRandom.current().nextInt(10) == 0) {
+              template.opsForValue().set(key, value, 1, TimeUnit.HOURS);
+            } else {
+              template.opsForValue().get(key);
+            }
+          } catch (RuntimeException e) {
+            failures.incrementAndGet();
+          }
+          if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+          }
+          samples[count++] = System.nanoTime() - start;
+        }
+        latencies[thread] = Arrays.copyOf(samples, count);
+        done.countDown();
+      });
+    }
+
+    Thread.sleep(duration.toMillis());
+    running.set(false);
+    done.await();
+    executor.shutdown();
+    assertEquals(0, failures.get(), "Redis calls failed during the run");
+    return latencies;
+  }
+
+  private Result summarize(String name, long[][] latencies, Duration duration) {
+    long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+    return new Result(name, all.length / (duration.toMillis() / 1000.0),
+        percentileMicros(all, 0.50), percentileMicros(all, 0.99), percentileMicros(all, 0.999));
+  }
+
+  private static long percentileMicros(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+    return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(index, 0)]);
+  }
+
+  private record Result(String name, double opsPerSecond, long p50Micros, long p99Micros, long p999Micros) {
+  }
+}
@@ -0,0 +1,150 @@
+package dev.peemtanapat.thaiticketmaster.event_api.config;
+
+import dev.peemtanapat.thaiticketmaster.event_api.cache.CachedValue;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.MissingValue;
+import dev.peemtanapat.thaiticketmaster.event_api.event.Category;
+import dev.peemtanapat.thaiticketmaster.event_api.event.Event;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventDTO;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedRedisSerializerTest {
+
+  private VersionedRedisSerializer smileSerializer;
+  private VersionedRedisSerializer jsonSerializer;
+  private EventDTO eventDTO;
+
+  @BeforeEach
+  void setUp() {
+    smileSerializer = new VersionedRedisSerializer(RedisConfig.jsonSerializer(), VersionedRedisSerializer.Codec.SMILE);
+    jsonSerializer = new VersionedRedisSerializer(RedisConfig.jsonSerializer(), VersionedRedisSerializer.Codec.JSON);
+
+    Category category = new Category("Concert", "Music concerts");
+    category.setId(1L);
+    Event event = new Event(
+        "Test Concert",
+        category,
+        Arrays.asList(OffsetDateTime.of(2026, 12, 1, 19, 0, 0, 0, ZoneOffset.UTC)),
+        "Test Venue",
+        LocalDateTime.of(2026, 11, 1, 10, 0),
+        new BigDecimal("1500.00"),
+        "Test event details",
+        "Test conditions",
+        EventStatus.ON_SALE,
+        "1 hour before");
+    event.setId(1L);
+    eventDTO = new EventDTO(event);
+  }
+
+  // ========== SMILE TESTS ==========
+
+  @Test
+  void serialize_WhenSmile_RoundTripsEventWithHeader() {
+    // Act
+    byte[] bytes = smileSerializer.serialize(eventDTO);
+    EventDTO result = (EventDTO) smileSerializer.deserialize(bytes);
+
+    // Assert
+    assertEquals(VersionedRedisSerializer.MAGIC, bytes[0]);
+    assertEquals(VersionedRedisSerializer.SCHEMA_VERSION, bytes[1]);
+    assertEquals("Test Concert", result.getName());
+    assertEquals("Concert", result.getCategory().getName());
+    assertEquals(new BigDecimal("1500.00"), result.getTicketPrice());
+    assertEquals(eventDTO.getShowDateTimes(), result.getShowDateTimes());
+    assertEquals(eventDTO.getOnSaleDateTime(), result.getOnSaleDateTime());
+  }
+
+  @Test
+  void serialize_WhenSmile_IsSmallerThanJson() {
+    // Act
+    byte[] smile = smileSerializer.serialize(eventDTO);
+    byte[] json = jsonSerializer.serialize(eventDTO);
+
+    // Assert
+    assertTrue(smile.length < json.length);
+  }
+
+  @Test
+  void serialize_WhenSmile_RoundTripsCachedValueWithItsWrappedType() {
+    // Arrange
+    CachedValue cachedValue = new CachedValue(eventDTO, 1000L, 25L);
+
+    // Act
+    CachedValue result = (CachedValue) smileSerializer.deserialize(smileSerializer.serialize(cachedValue));
+
+    // Assert
+    assertEquals(1000L, result.getSoftExpiresAt());
+    assertEquals(25L, result.getLoadMillis());
+    assertEquals("Test Concert", ((EventDTO) result.getValue()).getName());
+  }
+
+  @Test
+  void serialize_RoundTripsNegativeEntryInBothCodecs() {
+    // Act
+    byte[] smile = smileSerializer.serialize(new MissingValue());
+    byte[] json = jsonSerializer.serialize(new MissingValue());
+
+    // Assert
+    assertEquals(VersionedRedisSerializer.MAGIC, smile[0]);
+    assertInstanceOf(MissingValue.class, smileSerializer.deserialize(smile));
+    assertInstanceOf(MissingValue.class, smileSerializer.deserialize(json));
+  }
+
+  @Test
+  void serialize_WhenTypeNotBinary_FallsBackToJson() {
+    // Act
+    byte[] bytes = smileSerializer.serialize(42);
+
+    // Assert
+    assertNotEquals(VersionedRedisSerializer.MAGIC, bytes[0]);
+    assertEquals(42, smileSerializer.deserialize(bytes));
+  }
+
+  // ========== MIGRATION TESTS ==========
+
+  @Test
+  void deserialize_WhenSmile_ReadsExistingJsonEntries() {
+    // Arrange
+    byte[] legacy = RedisConfig.jsonSerializer().serialize(eventDTO);
+
+    // Act
+    EventDTO result = (EventDTO) smileSerializer.deserialize(legacy);
+
+    // Assert
+    assertEquals("Test Concert", result.getName());
+  }
+
+  @Test
+  void deserialize_WhenJson_ReadsSmileEntries() {
+    // Arrange
+    byte[] bytes = smileSerializer.serialize(eventDTO);
+
+    // Act
+    EventDTO result = (EventDTO) jsonSerializer.deserialize(bytes);
+
+    // Assert
+    assertEquals("Test Concert", result.getName());
+  }
+
+  @Test
+  void deserialize_WhenSchemaVersionUnknown_ReturnsNull() {
+    // Arrange
+    byte[] bytes = smileSerializer.serialize(eventDTO);
+    bytes[1] = (byte) (VersionedRedisSerializer.SCHEMA_VERSION + 1);
+
+    // Act
+    Object result = smileSerializer.deserialize(bytes);
+
+    // Assert
+    assertNull(result);
+  }
+}
@@ -0,0 +1,137 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import dev.peemtanapat.thaiticketmaster.event_api.cache.NearCache;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryCatalogTest {
+
+  @Mock
+  private CategoryRepository categoryRepository;
+
+  @Mock
+  private NearCache nearCache;
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  @Mock
+  private Cache secondLevelCache;
+
+  private CategoryCatalog categoryCatalog;
+
+  @BeforeEach
+  void setUp() {
+    Category concert = new Category("Concert", "Music concerts");
+    concert.setId(1L);
+    Category sports = new Category("Sports", "Sports events");
+    sports.setId(2L);
+    lenient().when(categoryRepository.findAll()).thenReturn(List.of(concert, sports));
+    lenient().when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+
+    categoryCatalog = new CategoryCatalog(categoryRepository, nearCache, entityManagerFactory);
+  }
+
+  // ========== READ TESTS ==========
+
+  @Test
+  void getAll_LoadsOnceAndServesFromMemory() {
+    // Act
+    List<EventDTO.CategoryDTO> first = categoryCatalog.getAll();
+    List<EventDTO.CategoryDTO> second = categoryCatalog.getAll();
+
+    // Assert
+    assertEquals(2, first.size());
+    assertSame(first, second);
+    verify(categoryRepository, times(1)).findAll();
+  }
+
+  @Test
+  void findByIdAndName_UseTheSameSnapshot() {
+    // Act
+    EventDTO.CategoryDTO byId = categoryCatalog.findById(2L).orElseThrow();
+    EventDTO.CategoryDTO byName = categoryCatalog.findByName("Sports").orElseThrow();
+
+    // Assert
+    assertSame(byId, byName);
+    assertTrue(categoryCatalog.findByName("Theatre").isEmpty());
+    verify(categoryRepository, times(1)).findAll();
+  }
+
+  @Test
+  void getById_WhenCategoryNotFound_ThrowsException() {
+    // Act & Assert
+    CategoryNotFoundException exception = assertThrows(CategoryNotFoundException.class, () -> {
+      categoryCatalog.getById(999L);
+    });
+
+    assertTrue(exception.getMessage().contains("Category not found with id: 999"));
+  }
+
+  // ========== CHANGE NOTIFICATION TESTS ==========
+
+  @Test
+  void onCategoryChanged_ReloadsAndNotifiesOtherInstances() {
+    // Arrange
+    categoryCatalog.getAll();
+
+    // Act
+    categoryCatalog.onCategoryChanged(new CategoryChangedEvent(1L));
+    categoryCatalog.getAll();
+
+    // Assert
+    verify(nearCache, times(1)).evict("categories");
+    verify(categoryRepository, times(2)).findAll();
+  }
+
+  @Test
+  void reload_PicksUpCategoriesWrittenStraightToTheDb() {
+    // Arrange
+    categoryCatalog.getAll();
+    Category theatre = new Category("Theatre", "Stage plays");
+    theatre.setId(3L);
+    when(categoryRepository.findAll()).thenReturn(List.of(theatre));
+
+    // Act
+    categoryCatalog.reload();
+
+    // Assert
+    assertEquals("Theatre", categoryCatalog.getById(3L).getName());
+    assertTrue(categoryCatalog.findById(1L).isEmpty());
+    verify(secondLevelCache).evict(Category.class);
+    verify(categoryRepository, times(2)).findAll();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void remoteInvalidation_ForCatalogKey_EvictsSecondLevelCacheAndReloadsOnNextRead() {
+    // Arrange
+    ArgumentCaptor<Consumer<List<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+    verify(nearCache).addRemoteInvalidationListener(listener.capture());
+    categoryCatalog.getAll();
+
+    // Act
+    listener.getValue().accept(List.of("event:1"));
+    categoryCatalog.getAll();
+    verifyNoInteractions(secondLevelCache);
+    listener.getValue().accept(List.of("event:2", "categories"));
+    categoryCatalog.getAll();
+
+    // Assert
+    verify(categoryRepository, times(2)).findAll();
+    verify(secondLevelCache).evict(Category.class);
+  }
+}
@@ -24,7 +24,7 @@ class CategoryControllerTest {
   private MockMvc mockMvc;
 
   @MockitoBean
-  private CategoryRepository categoryRepository;
+  private CategoryCatalog categoryCatalog;
 
   private Category testCategory;
   private Category testCategory2;
@@ -43,8 +43,9 @@ class CategoryControllerTest {
   @Test
   void getAllCategories_ReturnsListOfCategories() throws Exception {
     // Arrange
-    List<Category> categories = Arrays.asList(testCategory, testCategory2);
-    when(categoryRepository.findAll()).thenReturn(categories);
+    List<EventDTO.CategoryDTO> categories = Arrays.asList(
+        new EventDTO.CategoryDTO(testCategory), new EventDTO.CategoryDTO(testCategory2));
+    when(categoryCatalog.getAll()).thenReturn(categories);
 
     // Act & Assert
     mockMvc.perform(get("/api/v1/categories"))
@@ -57,13 +58,13 @@ class CategoryControllerTest {
         .andExpect(jsonPath("$[1].id").value(2))
         .andExpect(jsonPath("$[1].name").value("Sports"));
 
-    verify(categoryRepository, times(1)).findAll();
+    verify(categoryCatalog, times(1)).getAll();
   }
 
   @Test
   void getAllCategories_WhenNoCategories_ReturnsEmptyList() throws Exception {
     // Arrange
-    when(categoryRepository.findAll()).thenReturn(Arrays.asList());
+    when(categoryCatalog.getAll()).thenReturn(Arrays.asList());
 
     // Act & Assert
     mockMvc.perform(get("/api/v1/categories"))
@@ -71,7 +72,7 @@ class CategoryControllerTest {
         .andExpect(content().contentType(MediaType.APPLICATION_JSON))
         .andExpect(jsonPath("$", hasSize(0)));
 
-    verify(categoryRepository, times(1)).findAll();
+    verify(categoryCatalog, times(1)).getAll();
   }
 
   // ========== GET CATEGORY BY ID TESTS ==========
@@ -79,7 +80,7 @@ class CategoryControllerTest {
   @Test
   void getCategoryById_WhenCategoryExists_ReturnsCategory() throws Exception {
     // Arrange
-    when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+    when(categoryCatalog.getById(1L)).thenReturn(new EventDTO.CategoryDTO(testCategory));
 
     // Act & Assert
     mockMvc.perform(get("/api/v1/categories/1"))
@@ -89,19 +90,20 @@ class CategoryControllerTest {
         .andExpect(jsonPath("$.name").value("Concert"))
         .andExpect(jsonPath("$.description").value("Music concerts and shows"));
 
-    verify(categoryRepository, times(1)).findById(1L);
+    verify(categoryCatalog, times(1)).getById(1L);
   }
 
   @Test
   void getCategoryById_WhenCategoryNotFound_ReturnsNotFound() throws Exception {
     // Arrange
-    when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+    when(categoryCatalog.getById(999L))
+        .thenThrow(new CategoryNotFoundException("Category not found with id: 999"));
 
     // Act & Assert
     mockMvc.perform(get("/api/v1/categories/999"))
         .andExpect(status().isNotFound());
 
-    verify(categoryRepository, times(1)).findById(999L);
+    verify(categoryCatalog, times(1)).getById(999L);
   }
 
   // ========== GET CATEGORY BY NAME TESTS ==========
@@ -109,7 +111,7 @@ class CategoryControllerTest {
   @Test
   void getCategoryByName_WhenCategoryExists_ReturnsCategory() throws Exception {
     // Arrange
-    when(categoryRepository.findByName("Concert")).thenReturn(Optional.of(testCategory));
+    when(categoryCatalog.findByName("Concert")).thenReturn(Optional.of(new EventDTO.CategoryDTO(testCategory)));
 
     // Act & Assert
     mockMvc.perform(get("/api/v1/categories/name/Concert"))
@@ -119,19 +121,19 @@ class CategoryControllerTest {
         .andExpect(jsonPath("$.name").value("Concert"))
         .andExpect(jsonPath("$.description").value("Music concerts and shows"));
 
-    verify(categoryRepository, times(1)).findByName("Concert");
+    verify(categoryCatalog, times(1)).findByName("Concert");
   }
 
   @Test
   void getCategoryByName_WhenCategoryNotFound_ReturnsNotFound() throws Exception {
     // Arrange
-    when(categoryRepository.findByName("NonExistent")).thenReturn(Optional.empty());
+    when(categoryCatalog.findByName("NonExistent")).thenReturn(Optional.empty());
 
     // Act & Assert
     mockMvc.perform(get("/api/v1/categories/name/NonExistent"))
         .andExpect(status().isNotFound());
 
-    verify(categoryRepository, times(1)).findByName("NonExistent");
+    verify(categoryCatalog, times(1)).findByName("NonExistent");
   }
 
   @Test
@@ -139,7 +141,8 @@ class CategoryControllerTest {
     // Arrange
     Category specialCategory = new Category("Arts & Crafts", "Arts and crafts events");
     specialCategory.setId(3L);
-    when(categoryRepository.findByName("Arts & Crafts")).thenReturn(Optional.of(specialCategory));
+    when(categoryCatalog.findByName("Arts & Crafts"))
+        .thenReturn(Optional.of(new EventDTO.CategoryDTO(specialCategory)));
 
     // Act & Assert
     mockMvc.perform(get("/api/v1/categories/name/Arts & Crafts"))
@@ -148,6 +151,6 @@ class CategoryControllerTest {
         .andExpect(jsonPath("$.id").value(3))
         .andExpect(jsonPath("$.name").value("Arts & Crafts"));
 
-    verify(categoryRepository, times(1)).findByName("Arts & Crafts");
+    verify(categoryCatalog, times(1)).findByName("Arts & Crafts");
   }
 }
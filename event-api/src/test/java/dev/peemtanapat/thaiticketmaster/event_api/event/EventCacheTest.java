@@ -0,0 +1,594 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import dev.peemtanapat.thaiticketmaster.event_api.cache.CacheUnavailableException;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.CacheWriteBatch;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.IndexSnapshot;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.MissingValue;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.NearCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventCacheTest {
+
+  @Mock
+  private NearCache nearCache;
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private CategoryCatalog categoryCatalog;
+
+  @Mock
+  private EventIdFilter eventIdFilter;
+
+  @Mock
+  private EventSearchIndex eventSearchIndex;
+
+  @Mock
+  private CacheWriteBatch batch;
+
+  private EventCache eventCache;
+
+  private Event firstEvent;
+  private Event secondEvent;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(eventIdFilter.mightExist(anyLong())).thenReturn(true);
+    // Run after-commit writes right away, against a batch the tests can verify
+    lenient().doAnswer(invocation -> {
+      invocation.<Consumer<CacheWriteBatch>>getArgument(0).accept(batch);
+      return null;
+    }).when(nearCache).afterCommit(any());
+    eventCache = new EventCache(nearCache, eventRepository, categoryCatalog, eventIdFilter, eventSearchIndex,
+        Duration.ofSeconds(30));
+
+    Category category = new Category("Concert", "Music concerts");
+    category.setId(1L);
+
+    firstEvent = createEvent(1L, "First Concert", category, LocalDateTime.now().minusDays(1));
+    secondEvent = createEvent(2L, "Second Concert", category, LocalDateTime.now().minusHours(1));
+  }
+
+  // ========== GET EVENT TESTS ==========
+
+  @Test
+  void getEvent_WhenCacheMiss_LoadsFromDatabase() {
+    // Arrange
+    when(nearCache.getOrLoad(eq("event:1"), eq(1L), eq(TimeUnit.HOURS), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+    when(eventRepository.findById(1L)).thenReturn(Optional.of(firstEvent));
+
+    // Act
+    EventDTO result = eventCache.getEvent(1L);
+
+    // Assert
+    assertEquals("First Concert", result.getName());
+    assertEquals("Concert", result.getCategory().getName());
+  }
+
+  @Test
+  void getEvent_WhenEventNotFound_ThrowsException() {
+    // Arrange
+    when(nearCache.getOrLoad(eq("event:999"), anyLong(), any(TimeUnit.class), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+    when(eventRepository.findById(999L)).thenReturn(Optional.empty());
+
+    // Act & Assert
+    EventNotFoundException exception = assertThrows(EventNotFoundException.class, () -> {
+      eventCache.getEvent(999L);
+    });
+
+    assertTrue(exception.getMessage().contains("Event not found with id: 999"));
+    verify(nearCache).fill(eq("event:999"), any(MissingValue.class), eq(30_000L), eq(TimeUnit.MILLISECONDS));
+    verify(nearCache, never()).put(any(), any(), anyLong(), any());
+  }
+
+  @Test
+  void getEvent_WhenNegativeEntryCached_ThrowsWithoutDatabase() {
+    // Arrange
+    when(nearCache.getOrLoad(eq("event:999"), anyLong(), any(TimeUnit.class), any()))
+        .thenReturn(new MissingValue());
+
+    // Act & Assert
+    assertThrows(EventNotFoundException.class, () -> eventCache.getEvent(999L));
+    verifyNoInteractions(eventRepository);
+  }
+
+  @Test
+  void getEvent_WhenFilterRejectsId_ThrowsWithoutCacheOrDatabase() {
+    // Arrange
+    when(eventIdFilter.mightExist(999L)).thenReturn(false);
+
+    // Act & Assert
+    assertThrows(EventNotFoundException.class, () -> eventCache.getEvent(999L));
+    verifyNoInteractions(nearCache, eventRepository);
+  }
+
+  // ========== GET EVENTS TESTS ==========
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void getEvents_LoadsMissesInOneQueryAndKeepsOrder() {
+    // Arrange
+    EventDTO cachedSecond = new EventDTO(secondEvent);
+    when(nearCache.multiGet(List.of("event:1", "event:2", "event:3")))
+        .thenReturn(Arrays.asList(null, cachedSecond, null));
+    when(eventRepository.findRowsByIdIn(List.of(1L, 3L))).thenReturn(List.of(row(firstEvent)));
+
+    // Act
+    List<EventDTO> result = eventCache.getEvents(List.of(1L, 2L, 3L));
+
+    // Assert
+    assertEquals(List.of("First Concert", "Second Concert"), result.stream().map(EventDTO::getName).toList());
+    ArgumentCaptor<Map<String, ?>> backfill = ArgumentCaptor.forClass(Map.class);
+    verify(nearCache).fillAll(backfill.capture(), eq(1L), eq(TimeUnit.HOURS));
+    assertEquals(Set.of("event:1"), backfill.getValue().keySet());
+  }
+
+  @Test
+  void getEvents_BuildsMissesFromRowsWithShowTimesAndCatalogCategory() {
+    // Arrange
+    OffsetDateTime firstShow = OffsetDateTime.now().plusDays(30);
+    OffsetDateTime secondShow = firstShow.plusHours(3);
+    EventDTO.CategoryDTO catalogCategory = new EventDTO.CategoryDTO(firstEvent.getCategory());
+    when(nearCache.multiGet(List.of("event:1", "event:2"))).thenReturn(Arrays.asList(null, null));
+    when(eventRepository.findRowsByIdIn(List.of(1L, 2L))).thenReturn(List.of(row(firstEvent), row(secondEvent)));
+    when(eventRepository.findShowTimes(List.of(1L, 2L))).thenReturn(List.of(
+        new EventShowTime(1L, firstShow), new EventShowTime(1L, secondShow)));
+    when(categoryCatalog.findById(1L)).thenReturn(Optional.of(catalogCategory));
+
+    // Act
+    List<EventDTO> result = eventCache.getEvents(List.of(1L, 2L));
+
+    // Assert
+    assertEquals(List.of(firstShow, secondShow), result.get(0).getShowDateTimes());
+    assertEquals(List.of(), result.get(1).getShowDateTimes());
+    assertSame(catalogCategory, result.get(0).getCategory());
+    assertEquals(firstEvent.getTicketPrice(), result.get(0).getTicketPrice());
+    verify(eventRepository, never()).findAllById(any());
+  }
+
+  @Test
+  void getEvents_LoadsManyMissesInBoundedQueries() {
+    // Arrange
+    List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+    when(nearCache.multiGet(anyList())).thenReturn(Collections.nCopies(ids.size(), null));
+    when(eventRepository.findRowsByIdIn(anyCollection())).thenReturn(List.of());
+
+    // Act
+    eventCache.getEvents(ids);
+
+    // Assert
+    verify(eventRepository).findRowsByIdIn(ids.subList(0, 1000));
+    verify(eventRepository).findRowsByIdIn(List.of(1001L));
+    verify(eventRepository, times(2)).findRowsByIdIn(anyCollection());
+  }
+
+  @Test
+  void getEvents_WhenAllCached_DoesNotQueryDatabase() {
+    // Arrange
+    when(nearCache.multiGet(List.of("event:1")))
+        .thenReturn(Arrays.asList(new EventDTO(firstEvent)));
+
+    // Act
+    List<EventDTO> result = eventCache.getEvents(List.of(1L));
+
+    // Assert
+    assertEquals(1, result.size());
+    verifyNoInteractions(eventRepository);
+  }
+
+  @Test
+  void getEvents_SkipsUnknownIdsAndNegativeEntries() {
+    // Arrange
+    when(eventIdFilter.mightExist(3L)).thenReturn(false);
+    when(nearCache.multiGet(List.of("event:1", "event:2")))
+        .thenReturn(Arrays.asList(new EventDTO(firstEvent), new MissingValue()));
+
+    // Act
+    List<EventDTO> result = eventCache.getEvents(List.of(1L, 2L, 3L));
+
+    // Assert
+    assertEquals(List.of("First Concert"), result.stream().map(EventDTO::getName).toList());
+    verifyNoInteractions(eventRepository);
+  }
+
+  // ========== LIST TESTS ==========
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void getAllEvents_WhenIndexMissing_RebuildsIndexAndCachesEvents() {
+    // Arrange
+    listMiss("events:all");
+    when(eventRepository.findAllRows()).thenReturn(List.of(row(firstEvent), row(secondEvent)));
+    when(nearCache.getIndex("events:all:ids")).thenReturn(snapshot(1L, 1.0, 2L, 2.0));
+    when(nearCache.multiGet(List.of("event:1", "event:2")))
+        .thenReturn(List.of(new EventDTO(firstEvent), new EventDTO(secondEvent)));
+
+    // Act
+    List<EventDTO> result = eventCache.getAllEvents();
+
+    // Assert
+    assertEquals(2, result.size());
+    verify(nearCache).getOrRefresh(eq("events:all"), eq(Duration.ofHours(1)), eq(Duration.ofHours(2)), any());
+    ArgumentCaptor<Map<String, ?>> entries = ArgumentCaptor.forClass(Map.class);
+    verify(nearCache).fillAll(entries.capture(), eq(1L), eq(TimeUnit.HOURS));
+    assertEquals(Set.of("event:1", "event:2"), entries.getValue().keySet());
+    verify(nearCache, never()).putAll(any(), anyLong(), any());
+  }
+
+  @Test
+  void getOnSaleEvents_SkipsEventsNotYetOnSale() {
+    // Arrange
+    double past = EventCache.onSaleScore(LocalDateTime.now().minusHours(1));
+    double future = EventCache.onSaleScore(LocalDateTime.now().plusHours(1));
+    when(nearCache.getOrRefresh(eq("events:onsale"), eq(Duration.ofHours(1)), eq(Duration.ofHours(2)), any()))
+        .thenReturn(2);
+    when(nearCache.getIndex("events:onsale:ids")).thenReturn(snapshot(2L, past, 3L, future));
+    when(nearCache.multiGet(List.of("event:2"))).thenReturn(List.of(new EventDTO(secondEvent)));
+
+    // Act
+    List<EventDTO> result = eventCache.getOnSaleEvents();
+
+    // Assert
+    assertEquals(1, result.size());
+    assertEquals("Second Concert", result.get(0).getName());
+    verifyNoInteractions(eventRepository);
+  }
+
+  @Test
+  void getOnSaleEvents_WhenRedisUnavailable_ReadsFromDatabase() {
+    // Arrange
+    Event upcoming = createEvent(3L, "Upcoming Concert", firstEvent.getCategory(), LocalDateTime.now().plusDays(1));
+    when(nearCache.getOrRefresh(eq("events:onsale"), any(), any(), any()))
+        .thenThrow(new CacheUnavailableException("Redis circuit breaker is OPEN"));
+    when(eventRepository.findRowsByEventStatus(EventStatus.ON_SALE))
+        .thenReturn(List.of(row(upcoming), row(secondEvent), row(firstEvent)));
+
+    // Act
+    List<EventDTO> result = eventCache.getOnSaleEvents();
+
+    // Assert
+    assertEquals(List.of("First Concert", "Second Concert"), result.stream().map(EventDTO::getName).toList());
+    verify(nearCache, never()).getIndex(anyString());
+    verify(nearCache, never()).multiGet(anyList());
+  }
+
+  @Test
+  void countOnSaleEvents_CountsOnlyOpenSalesWithoutResolvingEvents() {
+    // Arrange
+    double past = EventCache.onSaleScore(LocalDateTime.now().minusHours(1));
+    double future = EventCache.onSaleScore(LocalDateTime.now().plusHours(1));
+    when(nearCache.getIndex("events:onsale:ids")).thenReturn(snapshot(1L, past, 2L, past, 3L, future));
+
+    // Act
+    Integer result = eventCache.countOnSaleEvents();
+
+    // Assert
+    assertEquals(2, result);
+    verify(nearCache, never()).multiGet(anyList());
+    verifyNoInteractions(eventRepository);
+  }
+
+  @Test
+  void countOnSaleEvents_WhenRedisUnavailable_ReturnsNull() {
+    // Arrange
+    when(nearCache.getIndex("events:onsale:ids"))
+        .thenThrow(new CacheUnavailableException("Redis circuit breaker is OPEN"));
+
+    // Act & Assert
+    assertNull(eventCache.countOnSaleEvents());
+  }
+
+  @Test
+  void getEventsByCategory_WhenIndexMissing_LoadsByCategoryIdOnly() {
+    // Arrange
+    when(categoryCatalog.getById(1L)).thenReturn(new EventDTO.CategoryDTO(firstEvent.getCategory()));
+    listMiss("events:category:1");
+    when(eventRepository.findRowsByCategoryId(1L)).thenReturn(List.of(row(firstEvent)));
+    when(nearCache.getIndex("events:category:1:ids")).thenReturn(snapshot(1L, 1.0));
+    when(nearCache.multiGet(List.of("event:1"))).thenReturn(List.of(new EventDTO(firstEvent)));
+
+    // Act
+    List<EventDTO> result = eventCache.getEventsByCategory(1L);
+
+    // Assert
+    assertEquals(1, result.size());
+    verify(eventRepository, times(1)).findRowsByCategoryId(1L);
+  }
+
+  @Test
+  void getEventsByCategory_WhenCategoryNotFound_ThrowsException() {
+    // Arrange
+    when(categoryCatalog.getById(999L))
+        .thenThrow(new CategoryNotFoundException("Category not found with id: 999"));
+
+    // Act & Assert
+    CategoryNotFoundException exception = assertThrows(CategoryNotFoundException.class, () -> {
+      eventCache.getEventsByCategory(999L);
+    });
+
+    assertTrue(exception.getMessage().contains("Category not found with id: 999"));
+    verifyNoInteractions(eventRepository);
+  }
+
+  @Test
+  void getEventsByStatus_ServesFromStatusIndex() {
+    // Arrange
+    when(nearCache.getOrRefresh(eq("events:status:ON_SALE"), eq(Duration.ofHours(1)), eq(Duration.ofHours(2)), any()))
+        .thenReturn(1);
+    when(nearCache.getIndex("events:status:ON_SALE:ids")).thenReturn(snapshot(2L, 2.0));
+    when(nearCache.multiGet(List.of("event:2"))).thenReturn(List.of(new EventDTO(secondEvent)));
+
+    // Act
+    List<EventDTO> result = eventCache.getEventsByStatus(EventStatus.ON_SALE);
+
+    // Assert
+    assertEquals("Second Concert", result.get(0).getName());
+    verifyNoInteractions(eventRepository);
+  }
+
+  // ========== PAGE TESTS ==========
+
+  @Test
+  void getEventsPage_ReturnsPageAfterCursorFromIndex() {
+    // Arrange
+    when(nearCache.getIndex("events:all:ids")).thenReturn(snapshot(1L, 1.0, 2L, 2.0, 3L, 3.0, 4L, 4.0));
+    when(nearCache.multiGet(List.of("event:2", "event:3")))
+        .thenReturn(List.of(new EventDTO(secondEvent), new EventDTO(firstEvent)));
+    String cursor = EventCursor.encode("events:all", 1L);
+
+    // Act
+    EventPage page = eventCache.getEventsPage(cursor, 2);
+
+    // Assert
+    assertEquals(2, page.getEvents().size());
+    assertEquals(3L, EventCursor.decode("events:all", page.getNextCursor()));
+    verifyNoInteractions(eventRepository);
+  }
+
+  @Test
+  void getEventsPage_WhenLastPage_HasNoNextCursor() {
+    // Arrange
+    when(nearCache.getIndex("events:all:ids")).thenReturn(snapshot(1L, 1.0, 2L, 2.0));
+    when(nearCache.multiGet(List.of("event:2"))).thenReturn(List.of(new EventDTO(secondEvent)));
+
+    // Act
+    EventPage page = eventCache.getEventsPage(EventCursor.encode("events:all", 1L), 2);
+
+    // Assert
+    assertEquals(1, page.getEvents().size());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  void getEventsByStatusPage_WhenRedisUnavailable_ReadsOnePageFromDatabase() {
+    // Arrange
+    when(nearCache.getOrRefresh(eq("events:status:ON_SALE"), any(), any(), any()))
+        .thenThrow(new CacheUnavailableException("Redis circuit breaker is OPEN"));
+    when(eventRepository.findRowsByEventStatusAfter(eq(EventStatus.ON_SALE), eq(0L),
+        argThat((Limit limit) -> limit.max() == 2)))
+        .thenReturn(List.of(row(firstEvent), row(secondEvent)));
+
+    // Act
+    EventPage page = eventCache.getEventsByStatusPage(EventStatus.ON_SALE, null, 1);
+
+    // Assert
+    assertEquals(List.of("First Concert"), page.getEvents().stream().map(EventDTO::getName).toList());
+    assertEquals(1L, EventCursor.decode("events:status:ON_SALE", page.getNextCursor()));
+    verify(eventRepository, never()).findRowsByEventStatus(any());
+    verify(eventRepository).findShowTimes(List.of(1L));
+  }
+
+  @Test
+  void getEventsPage_WhenCursorFromAnotherList_ThrowsInvalidCursor() {
+    // Arrange
+    String cursor = EventCursor.encode("events:category:1", 1L);
+
+    // Act & Assert
+    assertThrows(InvalidCursorException.class, () -> eventCache.getEventsPage(cursor, 2));
+    assertThrows(InvalidCursorException.class, () -> eventCache.getEventsPage("not a cursor", 2));
+    verifyNoInteractions(eventRepository);
+  }
+
+  // ========== WRITE TESTS ==========
+
+  @Test
+  void eventCreated_WhenOnSale_AddsToBothIndexes() {
+    // Arrange
+    EventDTO created = new EventDTO(firstEvent);
+
+    // Act
+    eventCache.eventCreated(created);
+
+    // Assert
+    verify(eventIdFilter).addAll(List.of(1L));
+    verify(eventSearchIndex).put(created);
+    verify(batch).put("event:1", created, 1L, TimeUnit.HOURS);
+    verify(batch).bumpVersion("events:version");
+    verify(batch).addToIndex(eq("events:all:ids"), eq(1L), eq(1.0), any(Duration.class));
+    verify(batch).addToIndex(eq("events:category:1:ids"), eq(1L), eq(1.0), any(Duration.class));
+    verify(batch).addToIndex(eq("events:status:ON_SALE:ids"), eq(1L), eq(1.0), any(Duration.class));
+    verify(batch).addToIndex(eq("events:onsale:ids"), eq(1L),
+        eq(EventCache.onSaleScore(firstEvent.getOnSaleDateTime())), eq(Duration.ofMinutes(125)));
+    InOrder order = inOrder(batch);
+    order.verify(batch).addToIndex(eq("events:onsale:ids"), anyLong(), anyDouble(), any(Duration.class));
+    order.verify(batch).bumpVersion("events:version");
+  }
+
+  @Test
+  void eventCreated_WhenComingSoon_OnlyAddsToAllIndex() {
+    // Arrange
+    firstEvent.setEventStatus(EventStatus.COMING_SOON);
+
+    // Act
+    eventCache.eventCreated(new EventDTO(firstEvent));
+
+    // Assert
+    verify(batch).addToIndex(eq("events:status:COMING_SOON:ids"), eq(1L), eq(1.0), any(Duration.class));
+    verify(batch, never()).addToIndex(eq("events:onsale:ids"), anyLong(), anyDouble(), any());
+  }
+
+  @Test
+  void eventsCreated_WritesAllInOneBatchAndBumpsVersionOnce() {
+    // Act
+    eventCache.eventsCreated(List.of(new EventDTO(firstEvent), new EventDTO(secondEvent)));
+
+    // Assert
+    verify(nearCache, times(1)).afterCommit(any());
+    verify(batch, times(1)).bumpVersion("events:version");
+    verify(batch).put(eq("event:1"), any(EventDTO.class), eq(1L), eq(TimeUnit.HOURS));
+    verify(batch).put(eq("event:2"), any(EventDTO.class), eq(1L), eq(TimeUnit.HOURS));
+    verify(eventIdFilter, times(1)).addAll(List.of(1L, 2L));
+    verify(batch, times(2)).addToIndex(eq("events:onsale:ids"), anyLong(), anyDouble(), any(Duration.class));
+  }
+
+  @Test
+  void eventUpdated_WhenStatusLeavesOnSale_RemovesFromOnSaleIndex() {
+    // Arrange
+    EventDTO before = new EventDTO(firstEvent);
+    firstEvent.setEventStatus(EventStatus.SOLD_OUT);
+    EventDTO after = new EventDTO(firstEvent);
+
+    // Act
+    eventCache.eventUpdated(before, after);
+
+    // Assert
+    verify(batch).put("event:1", after, 1L, TimeUnit.HOURS);
+    verify(batch).removeFromIndex("events:onsale:ids", 1L);
+    verify(batch).removeFromIndex("events:status:ON_SALE:ids", 1L);
+    verify(batch).addToIndex(eq("events:status:SOLD_OUT:ids"), eq(1L), eq(1.0), any(Duration.class));
+    verify(batch, never()).removeFromIndex(startsWith("events:category:"), anyLong());
+    InOrder order = inOrder(batch);
+    order.verify(batch).removeFromIndex("events:onsale:ids", 1L);
+    order.verify(batch).bumpVersion("events:version");
+  }
+
+  @Test
+  void eventUpdated_WhenCategoryChanged_MovesBetweenCategoryIndexesOnly() {
+    // Arrange
+    EventDTO before = new EventDTO(firstEvent);
+    Category sports = new Category("Sports", "Sports events");
+    sports.setId(2L);
+    firstEvent.setCategory(sports);
+    EventDTO after = new EventDTO(firstEvent);
+
+    // Act
+    eventCache.eventUpdated(before, after);
+
+    // Assert
+    verify(batch).removeFromIndex("events:category:1:ids", 1L);
+    verify(batch).addToIndex(eq("events:category:2:ids"), eq(1L), eq(1.0), any(Duration.class));
+    verify(batch, times(1)).removeFromIndex(anyString(), anyLong());
+    verify(batch, times(1)).addToIndex(anyString(), anyLong(), anyDouble(), any());
+  }
+
+  @Test
+  void eventUpdated_WhenOnSaleFieldsUnchanged_OnlyReplacesEntry() {
+    // Arrange
+    EventDTO before = new EventDTO(firstEvent);
+    firstEvent.setName("Renamed Concert");
+    EventDTO after = new EventDTO(firstEvent);
+
+    // Act
+    eventCache.eventUpdated(before, after);
+
+    // Assert
+    verify(eventSearchIndex).put(after);
+    verify(batch).put("event:1", after, 1L, TimeUnit.HOURS);
+    verify(batch).bumpVersion("events:version");
+    verify(batch, never()).addToIndex(anyString(), anyLong(), anyDouble(), any());
+    verify(batch, never()).removeFromIndex(anyString(), anyLong());
+  }
+
+  @Test
+  void eventDeleted_EvictsEntryAndIndexMembers() {
+    // Act
+    eventCache.eventDeleted(new EventDTO(firstEvent));
+
+    // Assert
+    verify(eventIdFilter).remove(1L);
+    verify(eventSearchIndex).remove(1L);
+    verify(batch).evict("event:1");
+    verify(batch).bumpVersion("events:version");
+    verify(batch).removeFromIndex("events:all:ids", 1L);
+    verify(batch).removeFromIndex("events:category:1:ids", 1L);
+    verify(batch).removeFromIndex("events:status:ON_SALE:ids", 1L);
+    verify(batch).removeFromIndex("events:onsale:ids", 1L);
+    InOrder order = inOrder(batch);
+    order.verify(batch).removeFromIndex("events:onsale:ids", 1L);
+    order.verify(batch).bumpVersion("events:version");
+  }
+
+  private Event createEvent(Long id, String name, Category category, LocalDateTime onSaleDateTime) {
+    Event event = new Event(
+        name,
+        category,
+        Arrays.asList(OffsetDateTime.now().plusDays(30)),
+        "Test Venue",
+        onSaleDateTime,
+        new BigDecimal("1500.00"),
+        "Test event details",
+        "Test conditions",
+        EventStatus.ON_SALE,
+        "1 hour before");
+    event.setId(id);
+    return event;
+  }
+
+  private static EventRow row(Event event) {
+    Category category = event.getCategory();
+    return new EventRow(event.getId(), event.getName(), category.getId(), category.getName(),
+        category.getDescription(), event.getLocation(), event.getOnSaleDateTime(), event.getTicketPrice(),
+        event.getDetail(), event.getCondition(), event.getEventStatus(), event.getGateOpen(),
+        event.getCreatedAt(), event.getUpdatedAt());
+  }
+
+  // Let the near cache rebuild a list index, as it does when its stamp is missing
+  @SuppressWarnings("unchecked")
+  private void listMiss(String stampKey) {
+    when(nearCache.getOrRefresh(eq(stampKey), any(Duration.class), any(Duration.class), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+    when(nearCache.rebuildIndex(eq(stampKey + ":ids"), any(), any(Duration.class)))
+        .thenAnswer(invocation -> invocation.<Supplier<Map<Long, Double>>>getArgument(1).get().size());
+  }
+
+  private IndexSnapshot snapshot(Object... idScores) {
+    Set<TypedTuple<String>> tuples = new LinkedHashSet<>();
+    for (int i = 0; i < idScores.length; i += 2) {
+      tuples.add(new DefaultTypedTuple<>(idScores[i].toString(), (Double) idScores[i + 1]));
+    }
+    return IndexSnapshot.of(tuples);
+  }
+}
@@ -339,6 +339,7 @@ class EventControllerIntegrationTest extends BaseIntegrationTest {
     // 4. Delete
     mockMvc.perform(delete("/api/v1/events/{id}", eventId))
         .andExpect(status().isNoContent());
+    runAfterCommitHooks();
 
     // 5. Verify deletion
     mockMvc.perform(get("/api/v1/events/{id}", eventId))
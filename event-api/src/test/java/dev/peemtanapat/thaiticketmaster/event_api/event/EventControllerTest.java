@@ -1,28 +1,38 @@
 package dev.peemtanapat.thaiticketmaster.event_api.event;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.CacheMetrics;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.ResponseBodyCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EventController.class)
+@Import(ResponseBodyCache.class)
 class EventControllerTest {
 
   @Autowired
@@ -34,6 +44,18 @@ class EventControllerTest {
   @MockitoBean
   private EventService eventService;
 
+  @MockitoBean
+  private EventViewCounter eventViewCounter;
+
+  @MockitoBean
+  private CacheMetrics cacheMetrics;
+
+  @MockitoBean
+  private EventImporter eventImporter;
+
+  @Autowired
+  private ResponseBodyCache responseBodyCache;
+
   private EventDTO testEventDTO;
   private EventCreateRequest createRequest;
   private EventUpdateRequest updateRequest;
@@ -41,6 +63,9 @@ class EventControllerTest {
 
   @BeforeEach
   void setUp() {
+    // The context, and its cached bodies, outlive each test
+    responseBodyCache.invalidateAll();
+
     testCategoryDTO = new EventDTO.CategoryDTO();
     testCategoryDTO.setId(1L);
     testCategoryDTO.setName("Concert");
@@ -126,6 +151,19 @@ class EventControllerTest {
         .andExpect(jsonPath("$.eventStatus").value("ON_SALE"));
 
     verify(eventService, times(1)).getEventById(1L);
+    verify(eventViewCounter, times(1)).record(1L);
+  }
+
+  @Test
+  void getEventById_WhenWarmUpRequest_DoesNotCountView() throws Exception {
+    // Arrange
+    when(eventService.getEventById(1L)).thenReturn(testEventDTO);
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events/1").header(EventController.WARM_UP_HEADER, "true"))
+        .andExpect(status().isOk());
+
+    verifyNoInteractions(eventViewCounter);
   }
 
   @Test
@@ -141,6 +179,166 @@ class EventControllerTest {
     verify(eventService, times(1)).getEventById(999L);
   }
 
+  // ========== PAGE TESTS ==========
+
+  @Test
+  void getEventsPage_ReturnsEventsAndNextCursor() throws Exception {
+    // Arrange
+    when(eventService.getEventsPage(null, 1)).thenReturn(new EventPage(List.of(testEventDTO), "next"));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events").param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.events", hasSize(1)))
+        .andExpect(jsonPath("$.events[0].id").value(1))
+        .andExpect(jsonPath("$.nextCursor").value("next"));
+
+    verify(eventService, never()).getAllEvents();
+  }
+
+  @Test
+  void getEventsByCategoryPage_PassesCursorThrough() throws Exception {
+    // Arrange
+    when(eventService.getEventsByCategoryPage(1L, "abc", 20)).thenReturn(new EventPage(List.of(), null));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events/category/1").param("limit", "20").param("cursor", "abc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.events", hasSize(0)))
+        .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+  }
+
+  @Test
+  void getEventsPage_WhenLimitTooLarge_ReturnsBadRequest() throws Exception {
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events").param("limit", String.valueOf(EventController.MAX_PAGE_SIZE + 1)))
+        .andExpect(status().isBadRequest());
+
+    verify(eventService, never()).getEventsPage(any(), anyInt());
+  }
+
+  @Test
+  void getEventsByStatusPage_WhenCursorInvalid_ReturnsBadRequest() throws Exception {
+    // Arrange
+    when(eventService.getEventsByStatusPage(EventStatus.ON_SALE, "bogus", 10))
+        .thenThrow(new InvalidCursorException("Malformed cursor"));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events/status/ON_SALE").param("limit", "10").param("cursor", "bogus"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Malformed cursor"));
+  }
+
+  // ========== BATCH LOOKUP TESTS ==========
+
+  @Test
+  void getEventsByIds_WhenQueryParam_ReturnsEventsInOneCall() throws Exception {
+    // Arrange
+    when(eventService.getEventsByIds(List.of(1L, 999L))).thenReturn(List.of(testEventDTO));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events").param("ids", "1,999"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].id").value(1));
+
+    verify(eventService, times(1)).getEventsByIds(List.of(1L, 999L));
+    verify(eventService, never()).getAllEvents();
+  }
+
+  @Test
+  void getEventsByIds_WhenTooManyIds_ReturnsBadRequest() throws Exception {
+    // Arrange
+    String ids = String.join(",", Collections.nCopies(EventController.MAX_BATCH_SIZE + 1, "1"));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events").param("ids", ids))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors.ids").exists());
+
+    verify(eventService, never()).getEventsByIds(any());
+  }
+
+  @Test
+  void getEventsByIds_WhenPostedBatch_ReturnsEvents() throws Exception {
+    // Arrange
+    when(eventService.getEventsByIds(List.of(1L, 2L))).thenReturn(List.of(testEventDTO));
+
+    // Act & Assert
+    mockMvc.perform(post("/api/v1/events/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new EventBatchRequest(List.of(1L, 2L)))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)));
+  }
+
+  @Test
+  void getEventsByIds_WhenPostedBatchAboveQueryLimit_ReturnsEvents() throws Exception {
+    // Arrange
+    List<Long> ids = LongStream.rangeClosed(1, EventController.MAX_BATCH_SIZE + 50).boxed().toList();
+    when(eventService.getEventsByIds(ids)).thenReturn(List.of(testEventDTO));
+
+    // Act & Assert
+    mockMvc.perform(post("/api/v1/events/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new EventBatchRequest(ids))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)));
+
+    verify(eventService, times(1)).getEventsByIds(ids);
+  }
+
+  @Test
+  void getEventsByIds_WhenPostedBatchTooLarge_ReturnsBadRequest() throws Exception {
+    // Arrange
+    List<Long> ids = LongStream.rangeClosed(1, EventController.MAX_POSTED_BATCH_SIZE + 1).boxed().toList();
+
+    // Act & Assert
+    mockMvc.perform(post("/api/v1/events/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new EventBatchRequest(ids))))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors.ids").exists());
+
+    verify(eventService, never()).getEventsByIds(any());
+  }
+
+  @Test
+  void getEventsByIds_WhenPostedBatchEmpty_ReturnsBadRequest() throws Exception {
+    // Act & Assert
+    mockMvc.perform(post("/api/v1/events/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new EventBatchRequest(List.of()))))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors.ids").exists());
+
+    verify(eventService, never()).getEventsByIds(any());
+  }
+
+  // ========== SEARCH TESTS ==========
+
+  @Test
+  void searchEvents_ReturnsMatchesWithDefaultLimit() throws Exception {
+    // Arrange
+    when(eventService.searchEvents("คอนเสิร์ต", 20)).thenReturn(List.of(testEventDTO));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events/search").param("q", "คอนเสิร์ต"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].id").value(1));
+  }
+
+  @Test
+  void searchEvents_WhenQueryTooLong_ReturnsBadRequest() throws Exception {
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events/search")
+        .param("q", "a".repeat(EventController.MAX_QUERY_LENGTH + 1)))
+        .andExpect(status().isBadRequest());
+
+    verify(eventService, never()).searchEvents(any(), anyInt());
+  }
+
   // ========== GET ON SALE EVENTS TESTS ==========
 
   @Test
@@ -190,6 +388,24 @@ class EventControllerTest {
     verify(eventService, times(1)).getEventsByCategory(999L);
   }
 
+  @Test
+  void getEventsByCategory_WhenCategoryNotFoundAndETagMatches_ReturnsNotFound() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(42L);
+    doThrow(new CategoryNotFoundException("Category not found with id: 999"))
+        .when(eventService).requireCategory(999L);
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events/category/999").header("If-None-Match", EventETags.forList(42L)))
+        .andExpect(status().isNotFound());
+    mockMvc.perform(get("/api/v1/events/category/999").param("limit", "10")
+            .header("If-None-Match", EventETags.forList(42L)))
+        .andExpect(status().isNotFound());
+
+    verify(eventService, never()).getEventsByCategory(any());
+    verify(eventService, never()).getEventsByCategoryPage(any(), any(), anyInt());
+  }
+
   // ========== GET EVENTS BY STATUS TESTS ==========
 
   @Test
@@ -208,6 +424,196 @@ class EventControllerTest {
     verify(eventService, times(1)).getEventsByStatus(EventStatus.ON_SALE);
   }
 
+  // ========== CONDITIONAL GET TESTS ==========
+
+  @Test
+  void getAllEvents_WhenETagMatches_ReturnsNotModifiedWithoutReadingList() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(42L);
+    String eTag = EventETags.forList(42L);
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events").header("If-None-Match", eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", eTag))
+        .andExpect(content().string(""));
+
+    verify(eventService, never()).getAllEvents();
+  }
+
+  @Test
+  void getAllEvents_WhenCatalogChanged_ReturnsListWithNewETag() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(43L);
+    when(eventService.getAllEvents()).thenReturn(List.of(testEventDTO));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events").header("If-None-Match", EventETags.forList(42L)))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", EventETags.forList(43L)))
+        .andExpect(jsonPath("$", hasSize(1)));
+  }
+
+  @Test
+  void getAllEvents_WhenCatalogVersionUnknown_SendsNoETag() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(null);
+    when(eventService.getAllEvents()).thenReturn(List.of(testEventDTO));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events").header("If-None-Match", EventETags.forList(42L)))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("ETag"));
+  }
+
+  @Test
+  void getEventById_WhenETagMatches_ReturnsNotModified() throws Exception {
+    // Arrange
+    testEventDTO.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 10, 0));
+    when(eventService.getEventById(1L)).thenReturn(testEventDTO);
+    String eTag = EventETags.forEvent(testEventDTO);
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events/1").header("If-None-Match", eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    verify(eventViewCounter, times(1)).record(1L);
+  }
+
+  @Test
+  void getEventById_WhenUpdatedSinceETag_ReturnsEvent() throws Exception {
+    // Arrange
+    testEventDTO.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 10, 0));
+    String oldETag = EventETags.forEvent(testEventDTO);
+    testEventDTO.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 10, 5));
+    when(eventService.getEventById(1L)).thenReturn(testEventDTO);
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events/1").header("If-None-Match", oldETag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", EventETags.forEvent(testEventDTO)))
+        .andExpect(jsonPath("$.id").value(1));
+  }
+
+  @Test
+  void getOnSaleEvents_WhenMoreSalesOpened_ReturnsList() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(42L);
+    when(eventService.countOnSaleEvents()).thenReturn(2);
+    when(eventService.getOnSaleEvents()).thenReturn(List.of(testEventDTO, testEventDTO));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events/on-sale").header("If-None-Match", EventETags.forOnSaleList(42L, 1)))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", EventETags.forOnSaleList(42L, 2)))
+        .andExpect(jsonPath("$", hasSize(2)));
+  }
+
+  @Test
+  void getAllEvents_WhenVersionUnchanged_ServesCachedBodyWithoutReadingList() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(42L);
+    when(eventService.getAllEvents()).thenReturn(List.of(testEventDTO));
+    mockMvc.perform(get("/api/v1/events")).andExpect(status().isOk());
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].name").value("Test Concert"));
+
+    verify(eventService, times(1)).getAllEvents();
+  }
+
+  @Test
+  void getAllEvents_WhenVersionChanged_SerializesNewBody() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(42L, 43L);
+    when(eventService.getAllEvents()).thenReturn(List.of(testEventDTO), List.of());
+    mockMvc.perform(get("/api/v1/events")).andExpect(status().isOk());
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(0)));
+
+    verify(eventService, times(2)).getAllEvents();
+  }
+
+  @Test
+  void getAllEvents_WhenVersionChangesWhileBuilding_DoesNotCacheBody() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(42L, 43L, 42L);
+    when(eventService.getAllEvents()).thenReturn(List.of(testEventDTO), List.of());
+
+    // Act
+    mockMvc.perform(get("/api/v1/events"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", EventETags.forList(42L)));
+
+    // Assert
+    mockMvc.perform(get("/api/v1/events"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(0)));
+    verify(eventService, times(2)).getAllEvents();
+  }
+
+  @Test
+  void getOnSaleEvents_WhenGzipAccepted_SendsCompressedVariant() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(42L);
+    when(eventService.countOnSaleEvents()).thenReturn(1);
+    when(eventService.getOnSaleEvents()).thenReturn(List.of(testEventDTO));
+    String eTag = EventETags.forOnSaleList(42L, 1);
+
+    // Act
+    byte[] body = mockMvc.perform(get("/api/v1/events/on-sale").header("Accept-Encoding", "gzip"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Encoding", "gzip"))
+        .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+        .andExpect(header().string("ETag", EventETags.forEncoding(eTag, "gzip")))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    // Assert
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      List<?> events = objectMapper.readValue(in.readAllBytes(), List.class);
+      assertEquals(1, events.size());
+    }
+  }
+
+  @Test
+  void getOnSaleEvents_WhenCompressedETagMatches_ReturnsNotModified() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(42L);
+    when(eventService.countOnSaleEvents()).thenReturn(1);
+    String gzipETag = EventETags.forEncoding(EventETags.forOnSaleList(42L, 1), "gzip");
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events/on-sale")
+            .header("Accept-Encoding", "gzip")
+            .header("If-None-Match", gzipETag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("Vary", containsString("Accept-Encoding")));
+
+    verify(eventService, never()).getOnSaleEvents();
+  }
+
+  @Test
+  void getAllEvents_WhenNoEncodingAccepted_SendsIdentity() throws Exception {
+    // Arrange
+    when(eventService.getCatalogVersion()).thenReturn(42L);
+    when(eventService.getAllEvents()).thenReturn(List.of(testEventDTO));
+
+    // Act & Assert
+    mockMvc.perform(get("/api/v1/events"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("Content-Encoding"))
+        .andExpect(header().string("ETag", EventETags.forList(42L)))
+        .andExpect(jsonPath("$", hasSize(1)));
+  }
+
   // ========== CREATE EVENT TESTS ==========
 
   @Test
@@ -297,6 +703,46 @@ class EventControllerTest {
     verify(eventService, never()).createEvent(any(EventCreateRequest.class));
   }
 
+  // ========== IMPORT TESTS ==========
+
+  @Test
+  void importEvents_WithNdjson_ReturnsResultWithRowErrors() throws Exception {
+    // Arrange
+    EventImportResult result = new EventImportResult();
+    result.addReceived();
+    result.addReceived();
+    result.addImported(1);
+    result.addError(2, "name: Event name is required");
+    when(eventImporter.importNdjson(any())).thenReturn(result);
+
+    // Act & Assert
+    mockMvc.perform(post("/api/v1/events/import")
+        .contentType(EventImporter.NDJSON)
+        .content("{}\n{}\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.received").value(2))
+        .andExpect(jsonPath("$.imported").value(1))
+        .andExpect(jsonPath("$.errors[0].row").value(2))
+        .andExpect(jsonPath("$.errors[0].message").value("name: Event name is required"));
+
+    verify(eventImporter, never()).importCsv(any());
+  }
+
+  @Test
+  void importEvents_WithCsv_UsesCsvImport() throws Exception {
+    // Arrange
+    when(eventImporter.importCsv(any())).thenReturn(new EventImportResult());
+
+    // Act & Assert
+    mockMvc.perform(post("/api/v1/events/import")
+        .contentType(EventImporter.CSV)
+        .content("name,categoryId\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(0));
+
+    verify(eventImporter, times(1)).importCsv(any());
+  }
+
   // ========== UPDATE EVENT TESTS ==========
 
   @Test
@@ -0,0 +1,186 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import dev.peemtanapat.thaiticketmaster.event_api.cache.NearCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventIdFilterTest {
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private NearCache nearCache;
+
+  private EventIdFilter eventIdFilter;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(eventRepository.findAllIds()).thenReturn(List.of(1L, 2L, 64L, 130L));
+
+    eventIdFilter = new EventIdFilter(eventRepository, nearCache, Duration.ofMinutes(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    eventIdFilter.shutdown();
+  }
+
+  // ========== LOOKUP TESTS ==========
+
+  @Test
+  void mightExist_LoadsOnceAndRejectsGaps() {
+    // Arrange
+    eventIdFilter.load();
+
+    // Act & Assert
+    assertTrue(eventIdFilter.mightExist(1L));
+    assertTrue(eventIdFilter.mightExist(64L));
+    assertTrue(eventIdFilter.mightExist(130L));
+    assertFalse(eventIdFilter.mightExist(3L));
+    assertFalse(eventIdFilter.mightExist(129L));
+    assertFalse(eventIdFilter.mightExist(0L));
+    verify(eventRepository, times(1)).findAllIds();
+  }
+
+  @Test
+  void mightExist_AboveWatermark_LetsIdThrough() {
+    // Arrange
+    eventIdFilter.load();
+
+    // Act & Assert
+    assertTrue(eventIdFilter.mightExist(131L));
+    assertTrue(eventIdFilter.mightExist(Long.MAX_VALUE));
+  }
+
+  @Test
+  void mightExist_BeforeLoad_LetsIdsThroughAndLoadsInBackground() throws InterruptedException {
+    // Act
+    boolean beforeLoad = eventIdFilter.mightExist(3L);
+    long deadline = System.currentTimeMillis() + 1_000;
+    while (eventIdFilter.mightExist(3L) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    // Assert
+    assertTrue(beforeLoad);
+    assertFalse(eventIdFilter.mightExist(3L));
+    verify(eventRepository, times(1)).findAllIds();
+  }
+
+  @Test
+  void mightExist_WhenLoadFails_LetsEveryIdThroughWithoutRetrying() {
+    // Arrange
+    when(eventRepository.findAllIds()).thenThrow(new RuntimeException("DB down"));
+    eventIdFilter.load();
+
+    // Act & Assert
+    assertTrue(eventIdFilter.mightExist(3L));
+    assertTrue(eventIdFilter.mightExist(4L));
+    verify(eventRepository, times(1)).findAllIds();
+  }
+
+  @Test
+  void mightExist_WhenRetryIntervalPassed_LoadsAgain() {
+    // Arrange
+    EventIdFilter retrying = new EventIdFilter(eventRepository, nearCache, Duration.ZERO);
+    when(eventRepository.findAllIds()).thenThrow(new RuntimeException("DB down")).thenReturn(List.of(1L, 2L));
+    retrying.load();
+
+    try {
+      // Act
+      retrying.mightExist(3L);
+
+      // Assert
+      verify(eventRepository, timeout(1_000).times(2)).findAllIds();
+    } finally {
+      retrying.shutdown();
+    }
+  }
+
+  @Test
+  void load_ReadsIdsOnceBeforeAnyLookup() {
+    // Act
+    eventIdFilter.load();
+    eventIdFilter.load();
+
+    // Assert
+    verify(eventRepository, times(1)).findAllIds();
+    assertFalse(eventIdFilter.mightExist(3L));
+  }
+
+  // ========== UPDATE TESTS ==========
+
+  @Test
+  void addAndRemove_UpdateLoadedBitmap() {
+    // Arrange
+    eventIdFilter.load();
+
+    // Act
+    eventIdFilter.add(3L);
+    eventIdFilter.remove(64L);
+
+    // Assert
+    assertTrue(eventIdFilter.mightExist(3L));
+    assertFalse(eventIdFilter.mightExist(64L));
+  }
+
+  @Test
+  void addAll_MarksEveryIdInRangeAndKeepsExistingOnes() {
+    // Arrange
+    eventIdFilter.load();
+
+    // Act
+    eventIdFilter.addAll(List.of(1L, 3L, 65L, 0L, 500L));
+
+    // Assert
+    assertTrue(eventIdFilter.mightExist(1L));
+    assertTrue(eventIdFilter.mightExist(3L));
+    assertTrue(eventIdFilter.mightExist(65L));
+    assertFalse(eventIdFilter.mightExist(4L));
+  }
+
+  @Test
+  void remove_WhenAlreadyClear_LeavesOtherIdsAlone() {
+    // Arrange
+    eventIdFilter.load();
+
+    // Act
+    eventIdFilter.remove(3L);
+    eventIdFilter.remove(3L);
+
+    // Assert
+    assertFalse(eventIdFilter.mightExist(3L));
+    assertTrue(eventIdFilter.mightExist(2L));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void remoteInvalidation_ForEventKeys_LetsIdsThrough() {
+    // Arrange
+    ArgumentCaptor<Consumer<List<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+    verify(nearCache).addRemoteInvalidationListener(listener.capture());
+    eventIdFilter.load();
+
+    // Act
+    listener.getValue().accept(List.of("event:5", "event:7", "events:all", "event:x"));
+
+    // Assert
+    assertTrue(eventIdFilter.mightExist(5L));
+    assertTrue(eventIdFilter.mightExist(7L));
+    assertFalse(eventIdFilter.mightExist(6L));
+  }
+}
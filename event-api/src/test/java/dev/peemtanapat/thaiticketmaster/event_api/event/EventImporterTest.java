@@ -0,0 +1,171 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventImporterTest {
+
+  private static final String VALID_JSON = "{\"name\":\"Rock Concert\",\"categoryId\":1,"
+      + "\"showDateTimes\":[\"2026-12-01T19:00:00+07:00\",\"2026-12-02T19:00:00+07:00\"],"
+      + "\"location\":\"Stadium Arena\",\"onSaleDateTime\":\"2026-11-01T10:00:00\",\"ticketPrice\":1500.00,"
+      + "\"eventStatus\":\"ON_SALE\"}";
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Mock
+  private CategoryCatalog categoryCatalog;
+
+  @Mock
+  private EventCache eventCache;
+
+  @Mock
+  private OnSaleScheduler onSaleScheduler;
+
+  private ObjectMapper objectMapper;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(transactionTemplate.execute(any()))
+        .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+    EventDTO.CategoryDTO concert = new EventDTO.CategoryDTO(1L, "Concert", "Music concerts");
+    lenient().when(categoryCatalog.findById(1L)).thenReturn(Optional.of(concert));
+    lenient().when(categoryCatalog.getById(1L)).thenReturn(concert);
+
+    objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void importNdjson_ImportsValidRowsAndReportsTheOthers() throws IOException {
+    // Arrange
+    when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(100L));
+    String body = VALID_JSON + "\n{not json\n\n" + VALID_JSON.replace("\"Rock Concert\"", "\"\"") + "\n";
+
+    // Act
+    EventImportResult result = importer(10).importNdjson(stream(body));
+
+    // Assert
+    assertEquals(3, result.getReceived());
+    assertEquals(1, result.getImported());
+    assertEquals(2, result.getFailed());
+    assertEquals(List.of(2, 3), result.getErrors().stream().map(EventImportResult.RowError::row).toList());
+    assertTrue(result.getErrors().get(1).message().startsWith("name: "));
+
+    ArgumentCaptor<List<Object[]>> showTimes = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO event_show_times"), showTimes.capture());
+    assertEquals(2, showTimes.getValue().size());
+    ArgumentCaptor<List<EventDTO>> created = ArgumentCaptor.forClass(List.class);
+    verify(eventCache).eventsCreated(created.capture());
+    assertEquals(100L, created.getValue().get(0).getId());
+    assertEquals("Concert", created.getValue().get(0).getCategory().getName());
+  }
+
+  @Test
+  void importCsv_SplitsShowTimesAndImportsInChunks() throws IOException {
+    // Arrange
+    when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(2))).thenReturn(List.of(100L, 101L));
+    when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(102L));
+    String row = "1,2026-12-01T19:00:00+07:00;2026-12-02T19:00:00+07:00,Stadium Arena,"
+        + "2026-11-01T10:00:00,1500.00,ON_SALE,\n";
+    String body = "name,categoryId,showDateTimes,location,onSaleDateTime,ticketPrice,eventStatus,gateOpen\n"
+        + "First," + row + "Second," + row + "Third," + row;
+
+    // Act
+    EventImportResult result = importer(2).importCsv(stream(body));
+
+    // Assert
+    assertEquals(3, result.getImported());
+    assertEquals(0, result.getFailed());
+    verify(eventCache, times(2)).eventsCreated(anyList());
+    verify(onSaleScheduler, times(3)).track(any(EventDTO.class));
+  }
+
+  @Test
+  void importCsv_WhenValueInvalid_ReportsRow() throws IOException {
+    // Arrange
+    String body = "name,categoryId,showDateTimes,location,onSaleDateTime,ticketPrice,eventStatus\n"
+        + "First,1,2026-12-01T19:00:00+07:00,Arena,not-a-date,1500.00,ON_SALE\n";
+
+    // Act
+    EventImportResult result = importer(10).importCsv(stream(body));
+
+    // Assert
+    assertEquals(1, result.getFailed());
+    assertTrue(result.getErrors().get(0).message().startsWith("Invalid value: "));
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void importNdjson_WhenCategoryUnknown_ReportsRowWithoutInserting() throws IOException {
+    // Arrange
+    String body = VALID_JSON.replace("\"categoryId\":1", "\"categoryId\":9");
+
+    // Act
+    EventImportResult result = importer(10).importNdjson(stream(body));
+
+    // Assert
+    assertEquals(1, result.getFailed());
+    assertEquals("categoryId: Category not found with id: 9", result.getErrors().get(0).message());
+    verifyNoInteractions(jdbcTemplate, eventCache);
+  }
+
+  @Test
+  void importNdjson_WhenChunkRejected_ReportsItsRowsAndContinues() throws IOException {
+    // Arrange
+    when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1)))
+        .thenReturn(List.of(100L))
+        .thenReturn(List.of(101L));
+    when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO events "), anyList()))
+        .thenThrow(new DataIntegrityViolationException("duplicate key"))
+        .thenReturn(new int[] { 1 });
+
+    // Act
+    EventImportResult result = importer(1).importNdjson(stream(VALID_JSON + "\n" + VALID_JSON + "\n"));
+
+    // Assert
+    assertEquals(1, result.getImported());
+    assertEquals(1, result.getFailed());
+    assertEquals(1, result.getErrors().get(0).row());
+    verify(eventCache, times(1)).eventsCreated(anyList());
+  }
+
+  private EventImporter importer(int chunkSize) {
+    return new EventImporter(jdbcTemplate, transactionTemplate, objectMapper,
+        Validation.buildDefaultValidatorFactory().getValidator(), categoryCatalog, eventCache, onSaleScheduler,
+        chunkSize);
+  }
+
+  private static ByteArrayInputStream stream(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,139 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import dev.peemtanapat.thaiticketmaster.event_api.BaseIntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the queries behind the event endpoints against a real
+ * database. Counts the SQL statements each read prepares on cold caches,
+ * which must not grow with the number of events it returns.
+ */
+class EventRepositoryIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private EventCache eventCache;
+
+  private SessionFactory sessionFactory;
+  private Statistics statistics;
+  private Category category;
+
+  @BeforeEach
+  void setUp() {
+    sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+    statistics = sessionFactory.getStatistics();
+    statistics.setStatisticsEnabled(true);
+    sessionFactory.getCache().evictAllRegions();
+    category = categoryRepository.save(new Category("Concert", "Music concerts and shows"));
+  }
+
+  @Test
+  void endpointReads_StatementCountStaysConstantAsCatalogGrows() {
+    // Arrange
+    List<Long> smallIds = createEvents(2);
+    Map<String, Long> small = countStatements(smallIds);
+    List<Long> largeIds = createEvents(20);
+
+    // Act
+    Map<String, Long> large = countStatements(largeIds);
+
+    // Assert
+    assertEquals(small, large);
+  }
+
+  @Test
+  void getEvents_LoadsRowsAndShowTimesInTwoStatements() {
+    // Arrange
+    List<Long> ids = createEvents(5);
+
+    // Act
+    Map<String, Long> counts = countStatements(ids);
+
+    // Assert
+    assertEquals(2, counts.get("getEvents"));
+    assertEquals(2, counts.get("getAllEvents"));
+  }
+
+  @Test
+  void dueEventQuery_LoadsCategoryAndShowTimesInOneStatement() {
+    // Arrange
+    createEvents(5);
+    entityManager.clear();
+    sessionFactory.getCache().evictAllRegions();
+    statistics.clear();
+
+    // Act
+    List<Event> events = eventRepository.findByEventStatusAndOnSaleDateTimeBefore(EventStatus.ON_SALE,
+        LocalDateTime.now());
+    events.forEach(event -> event.getCategory().getName());
+
+    // Assert
+    assertEquals(5, events.size());
+    assertTrue(events.stream().allMatch(event -> event.getShowDateTimes().size() == 2));
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  // Statements prepared by each EventCache read the endpoints use, run with
+  // Redis, L1 and the second-level cache cold. The category catalog and ID
+  // filter are loaded first, since they are shared by every read
+  private Map<String, Long> countStatements(List<Long> ids) {
+    Map<String, Supplier<List<EventDTO>>> reads = new LinkedHashMap<>();
+    reads.put("getEvents", () -> eventCache.getEvents(ids));
+    reads.put("getAllEvents", eventCache::getAllEvents);
+    reads.put("getOnSaleEvents", eventCache::getOnSaleEvents);
+    reads.put("getEventsByCategory", () -> eventCache.getEventsByCategory(category.getId()));
+    reads.put("getEventsByStatus", () -> eventCache.getEventsByStatus(EventStatus.ON_SALE));
+    reads.put("getEventsPage", () -> eventCache.getEventsPage(null, ids.size()).getEvents());
+
+    entityManager.flush();
+    Map<String, Long> counts = new LinkedHashMap<>();
+    reads.forEach((name, read) -> {
+      redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+      nearCache.clearLocal();
+      categoryCatalog.invalidate();
+      categoryCatalog.getAll();
+      eventIdFilter.invalidate();
+      eventIdFilter.load();
+      entityManager.clear();
+      sessionFactory.getCache().evictAllRegions();
+      statistics.clear();
+      List<EventDTO> events = read.get();
+      assertEquals(ids.size(), events.size(), name);
+      assertTrue(events.stream().allMatch(event -> event.getShowDateTimes().size() == 2), name);
+      counts.put(name, statistics.getPrepareStatementCount());
+    });
+    return counts;
+  }
+
+  // Create count more ON_SALE events with two show times each, and return
+  // the IDs of every event created so far
+  private List<Long> createEvents(int count) {
+    for (int i = 0; i < count; i++) {
+      OffsetDateTime show = OffsetDateTime.now().plusDays(30 + i);
+      Event event = new Event("Concert " + i, category, new ArrayList<>(List.of(show, show.plusHours(3))),
+          "Stadium Arena", LocalDateTime.now().minusDays(1), new BigDecimal("1500.00"),
+          "Details", "Conditions", EventStatus.ON_SALE, "1 hour before");
+      eventRepository.save(event);
+    }
+    entityManager.flush();
+    return eventRepository.findAllIds();
+  }
+}
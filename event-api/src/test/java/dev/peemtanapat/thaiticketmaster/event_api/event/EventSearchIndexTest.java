@@ -0,0 +1,223 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import dev.peemtanapat.thaiticketmaster.event_api.cache.NearCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventSearchIndexTest {
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private NearCache nearCache;
+
+  private EventSearchIndex eventSearchIndex;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(eventRepository.findAllRows()).thenReturn(List.of(
+        row(1L, "Jazz Night", "Concert", "Blue Note", "Guest rock guitarist on the last set"),
+        row(2L, "Rock Festival", "Concert", "Impact Arena", "Three stages"),
+        row(3L, "เทศกาลดนตรี", "Festival", "ศูนย์การประชุมแห่งชาติสิริกิติ์", "งานแสดงดนตรีสด"),
+        row(4L, "Thai Boxing Gala", "Sports", "Lumpinee Stadium", null)));
+
+    eventSearchIndex = new EventSearchIndex(eventRepository, nearCache);
+  }
+
+  // ========== TOKENIZE TESTS ==========
+
+  @Test
+  void tokenize_SegmentsThaiAndLowercasesEnglish() {
+    // Act & Assert
+    assertEquals(List.of("เทศกาล", "ดนตรี", "rock", "fest", "2026"),
+        EventSearchIndex.tokenize("เทศกาลดนตรี Rock Fest, 2026!"));
+    assertEquals(List.of("concert"), EventSearchIndex.tokenize("ＣＯＮＣＥＲＴ"));
+    assertEquals(List.of(), EventSearchIndex.tokenize("  ... "));
+  }
+
+  // ========== SEARCH TESTS ==========
+
+  @Test
+  void search_RanksNameMatchesAboveDetailMatches() {
+    // Act & Assert
+    assertEquals(List.of(2L, 1L), eventSearchIndex.search("ROCK", 10));
+    verify(eventRepository, times(1)).findAllRows();
+  }
+
+  @Test
+  void search_FindsThaiWordsInsideUnspacedText() {
+    // Act & Assert
+    assertEquals(List.of(3L), eventSearchIndex.search("ดนตรี", 10));
+    assertEquals(List.of(3L), eventSearchIndex.search("การประชุม", 10));
+  }
+
+  @Test
+  void search_MatchesCategoryAndStopsAtLimit() {
+    // Act & Assert
+    // Same category weight, so the shorter event ranks first
+    assertEquals(List.of(2L, 1L), eventSearchIndex.search("concert", 10));
+    assertEquals(List.of(2L), eventSearchIndex.search("concert", 1));
+  }
+
+  @Test
+  void search_WhenQueryHasNoWords_ReturnsEmptyWithoutLoading() {
+    // Act & Assert
+    assertEquals(List.of(), eventSearchIndex.search(" ?! ", 10));
+    verifyNoInteractions(eventRepository);
+  }
+
+  // ========== UPDATE TESTS ==========
+
+  @Test
+  void put_ReplacesIndexedTextWithoutReloading() {
+    // Arrange
+    eventSearchIndex.search("rock", 10);
+
+    // Act
+    eventSearchIndex.put(dto(row(2L, "Pop Festival", "Concert", "Impact Arena", null)));
+    eventSearchIndex.put(dto(row(5L, "Rock Legends", "Concert", "Rajamangala Stadium", null)));
+
+    // Assert
+    assertEquals(List.of(5L, 1L), eventSearchIndex.search("rock", 10));
+    assertEquals(List.of(2L), eventSearchIndex.search("pop", 10));
+    verify(eventRepository, times(1)).findAllRows();
+  }
+
+  @Test
+  void put_BeforeLoad_IsLeftToTheLoad() {
+    // Act
+    eventSearchIndex.put(dto(row(5L, "Rock Legends", "Concert", "Rajamangala Stadium", null)));
+
+    // Assert
+    verifyNoInteractions(eventRepository);
+    assertEquals(List.of(2L, 1L), eventSearchIndex.search("rock", 10));
+  }
+
+  @Test
+  void remove_DropsEventFromResults() {
+    // Arrange
+    eventSearchIndex.search("rock", 10);
+
+    // Act
+    eventSearchIndex.remove(2L);
+
+    // Assert
+    assertEquals(List.of(1L), eventSearchIndex.search("rock", 10));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void remoteInvalidation_RereadsChangedEvents() {
+    // Arrange
+    ArgumentCaptor<Consumer<List<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+    verify(nearCache).addRemoteInvalidationListener(listener.capture());
+    eventSearchIndex.search("rock", 10);
+    when(eventRepository.findRowsByIdIn(anyCollection()))
+        .thenReturn(List.of(row(6L, "Rock Opera", "Theatre", "Muangthai Rachadalai", null)));
+    listener.getValue().accept(List.of("event:2", "events:all"));
+    listener.getValue().accept(List.of("event:6"));
+
+    // Act
+    eventSearchIndex.refreshStale();
+
+    // Assert
+    assertEquals(List.of(6L, 1L), eventSearchIndex.search("rock", 10));
+    verify(eventRepository).findRowsByIdIn(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(2L, 6L))));
+    verify(eventRepository, times(1)).findAllRows();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void refreshStale_ReadsChangedEventsInBoundedChunks() {
+    // Arrange
+    ArgumentCaptor<Consumer<List<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+    verify(nearCache).addRemoteInvalidationListener(listener.capture());
+    eventSearchIndex.load();
+    when(eventRepository.findRowsByIdIn(anyCollection())).thenReturn(List.of());
+    listener.getValue().accept(IntStream.rangeClosed(1, EventSearchIndex.REFRESH_BATCH_SIZE + 1)
+        .mapToObj(id -> "event:" + id)
+        .toList());
+
+    // Act
+    eventSearchIndex.refreshStale();
+
+    // Assert
+    verify(eventRepository).findRowsByIdIn(argThat(ids -> ids.size() == EventSearchIndex.REFRESH_BATCH_SIZE));
+    verify(eventRepository).findRowsByIdIn(argThat(ids -> ids.size() == 1));
+    assertEquals(List.of(), eventSearchIndex.search("rock", 10));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void search_WhileChangedEventsAreRead_UsesCurrentIndexAndKeepsLocalWrites() throws Exception {
+    // Arrange
+    ArgumentCaptor<Consumer<List<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+    verify(nearCache).addRemoteInvalidationListener(listener.capture());
+    eventSearchIndex.search("rock", 10);
+    CountDownLatch reading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(eventRepository.findRowsByIdIn(anyCollection())).thenAnswer(invocation -> {
+      reading.countDown();
+      release.await();
+      return List.of(row(2L, "Rock Festival", "Concert", "Impact Arena", null));
+    });
+    listener.getValue().accept(List.of("event:2"));
+    Thread refresh = new Thread(eventSearchIndex::refreshStale);
+    refresh.start();
+    assertTrue(reading.await(1, TimeUnit.SECONDS));
+
+    // Act
+    List<Long> duringRead = eventSearchIndex.search("rock", 10);
+    eventSearchIndex.put(dto(row(2L, "Pop Festival", "Concert", "Impact Arena", null)));
+    release.countDown();
+    refresh.join(1_000);
+
+    // Assert
+    assertEquals(List.of(2L, 1L), duringRead);
+    assertEquals(List.of(1L), eventSearchIndex.search("rock", 10));
+    assertEquals(List.of(2L), eventSearchIndex.search("pop", 10));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void remoteCategoryChange_ReloadsWholeIndex() {
+    // Arrange
+    ArgumentCaptor<Consumer<List<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+    verify(nearCache).addRemoteInvalidationListener(listener.capture());
+    eventSearchIndex.search("rock", 10);
+
+    // Act
+    listener.getValue().accept(List.of(CategoryCatalog.CATALOG_KEY));
+    eventSearchIndex.search("rock", 10);
+
+    // Assert
+    verify(eventRepository, times(2)).findAllRows();
+  }
+
+  private static EventRow row(Long id, String name, String category, String location, String detail) {
+    LocalDateTime now = LocalDateTime.now();
+    return new EventRow(id, name, 1L, category, null, location, now, new BigDecimal("1500.00"), detail, null,
+        EventStatus.ON_SALE, null, now, now);
+  }
+
+  private static EventDTO dto(EventRow row) {
+    return new EventDTO(row, new EventDTO.CategoryDTO(row.categoryId(), row.categoryName(), null), List.of());
+  }
+}
@@ -280,6 +280,7 @@ class EventServiceIntegrationTest extends BaseIntegrationTest {
 
     // Act
     eventService.deleteEvent(eventId);
+    runAfterCommitHooks();
 
     // Assert
     assertFalse(eventRepository.existsById(eventId));
@@ -321,6 +322,7 @@ class EventServiceIntegrationTest extends BaseIntegrationTest {
     request.setEventStatus(EventStatus.ON_SALE);
 
     eventService.createEvent(request);
+    runAfterCommitHooks();
 
     // Assert - Cache should be invalidated, new list should include new event
     List<EventDTO> afterCreate = eventService.getAllEvents();
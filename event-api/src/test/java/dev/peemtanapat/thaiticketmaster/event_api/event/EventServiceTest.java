@@ -6,8 +6,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,12 +13,10 @@ import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
-import static org.mockito.Mockito.lenient;
 
 @ExtendWith(MockitoExtension.class)
 class EventServiceTest {
@@ -32,10 +28,16 @@ class EventServiceTest {
   private CategoryRepository categoryRepository;
 
   @Mock
-  private RedisTemplate<String, Object> redisTemplate;
+  private CategoryCatalog categoryCatalog;
 
   @Mock
-  private ValueOperations<String, Object> valueOperations;
+  private EventCache eventCache;
+
+  @Mock
+  private OnSaleScheduler onSaleScheduler;
+
+  @Mock
+  private EventSearchIndex eventSearchIndex;
 
   @InjectMocks
   private EventService eventService;
@@ -48,9 +50,6 @@ class EventServiceTest {
 
   @BeforeEach
   void setUp() {
-    // Mock RedisTemplate operations with lenient stubbing (not all tests need this)
-    lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-
     // Set up test data
     testCategory = new Category("Concert", "Music concerts");
     testCategory.setId(1L);
@@ -90,26 +89,9 @@ class EventServiceTest {
   // ========== GET ALL EVENTS TESTS ==========
 
   @Test
-  void getAllEvents_WhenCacheHit_ReturnsCachedData() {
+  void getAllEvents_ReturnsEventsFromCache() {
     // Arrange
-    List<EventDTO> cachedEvents = Arrays.asList(testEventDTO);
-    when(valueOperations.get("events:all")).thenReturn(cachedEvents);
-
-    // Act
-    List<EventDTO> result = eventService.getAllEvents();
-
-    // Assert
-    assertNotNull(result);
-    assertEquals(1, result.size());
-    verify(valueOperations, times(1)).get("events:all");
-    verify(eventRepository, never()).findAll();
-  }
-
-  @Test
-  void getAllEvents_WhenCacheMiss_LoadsFromDatabaseAndCaches() {
-    // Arrange
-    when(valueOperations.get("events:all")).thenReturn(null);
-    when(eventRepository.findAll()).thenReturn(Arrays.asList(testEvent));
+    when(eventCache.getAllEvents()).thenReturn(Arrays.asList(testEventDTO));
 
     // Act
     List<EventDTO> result = eventService.getAllEvents();
@@ -118,16 +100,13 @@ class EventServiceTest {
     assertNotNull(result);
     assertEquals(1, result.size());
     assertEquals("Test Concert", result.get(0).getName());
-    verify(valueOperations, times(1)).get("events:all");
-    verify(eventRepository, times(1)).findAll();
-    verify(valueOperations, times(1)).set(eq("events:all"), anyList(), eq(1L), eq(TimeUnit.HOURS));
+    verify(eventRepository, never()).findAll();
   }
 
   @Test
   void getAllEvents_WhenNoEvents_ReturnsEmptyList() {
     // Arrange
-    when(valueOperations.get("events:all")).thenReturn(null);
-    when(eventRepository.findAll()).thenReturn(Arrays.asList());
+    when(eventCache.getAllEvents()).thenReturn(Arrays.asList());
 
     // Act
     List<EventDTO> result = eventService.getAllEvents();
@@ -140,9 +119,9 @@ class EventServiceTest {
   // ========== GET EVENT BY ID TESTS ==========
 
   @Test
-  void getEventById_WhenCacheHit_ReturnsCachedData() {
+  void getEventById_ReturnsEventFromCache() {
     // Arrange
-    when(valueOperations.get("event:1")).thenReturn(testEventDTO);
+    when(eventCache.getEvent(1L)).thenReturn(testEventDTO);
 
     // Act
     EventDTO result = eventService.getEventById(1L);
@@ -150,32 +129,13 @@ class EventServiceTest {
     // Assert
     assertNotNull(result);
     assertEquals("Test Concert", result.getName());
-    verify(valueOperations, times(1)).get("event:1");
     verify(eventRepository, never()).findById(anyLong());
   }
 
-  @Test
-  void getEventById_WhenCacheMiss_LoadsFromDatabaseAndCaches() {
-    // Arrange
-    when(valueOperations.get("event:1")).thenReturn(null);
-    when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-
-    // Act
-    EventDTO result = eventService.getEventById(1L);
-
-    // Assert
-    assertNotNull(result);
-    assertEquals("Test Concert", result.getName());
-    verify(valueOperations, times(1)).get("event:1");
-    verify(eventRepository, times(1)).findById(1L);
-    verify(valueOperations, times(1)).set(eq("event:1"), any(EventDTO.class), eq(1L), eq(TimeUnit.HOURS));
-  }
-
   @Test
   void getEventById_WhenEventNotFound_ThrowsException() {
     // Arrange
-    when(valueOperations.get("event:999")).thenReturn(null);
-    when(eventRepository.findById(999L)).thenReturn(Optional.empty());
+    when(eventCache.getEvent(999L)).thenThrow(new EventNotFoundException("Event not found with id: 999"));
 
     // Act & Assert
     EventNotFoundException exception = assertThrows(EventNotFoundException.class, () -> {
@@ -185,30 +145,28 @@ class EventServiceTest {
     assertTrue(exception.getMessage().contains("Event not found with id: 999"));
   }
 
-  // ========== GET ON SALE EVENTS TESTS ==========
+  // ========== BATCH LOOKUP TESTS ==========
 
   @Test
-  void getOnSaleEvents_WhenCacheHit_ReturnsCachedData() {
+  void getEventsByIds_DropsDuplicatesAndResolvesFromCache() {
     // Arrange
-    List<EventDTO> cachedEvents = Arrays.asList(testEventDTO);
-    when(valueOperations.get("events:onsale")).thenReturn(cachedEvents);
+    when(eventCache.getEvents(List.of(1L, 2L))).thenReturn(List.of(testEventDTO));
 
     // Act
-    List<EventDTO> result = eventService.getOnSaleEvents();
+    List<EventDTO> result = eventService.getEventsByIds(List.of(1L, 2L, 1L));
 
     // Assert
-    assertNotNull(result);
     assertEquals(1, result.size());
-    verify(valueOperations, times(1)).get("events:onsale");
-    verify(eventRepository, never()).findOnSaleEventsOrderByShowDate(any());
+    verify(eventCache, times(1)).getEvents(List.of(1L, 2L));
+    verifyNoInteractions(eventRepository);
   }
 
+  // ========== GET ON SALE EVENTS TESTS ==========
+
   @Test
-  void getOnSaleEvents_WhenCacheMiss_LoadsFromDatabaseAndCaches() {
+  void getOnSaleEvents_ReturnsEventsFromCache() {
     // Arrange
-    when(valueOperations.get("events:onsale")).thenReturn(null);
-    when(eventRepository.findOnSaleEventsOrderByShowDate(any(LocalDateTime.class)))
-        .thenReturn(Arrays.asList(testEvent));
+    when(eventCache.getOnSaleEvents()).thenReturn(Arrays.asList(testEventDTO));
 
     // Act
     List<EventDTO> result = eventService.getOnSaleEvents();
@@ -216,18 +174,26 @@ class EventServiceTest {
     // Assert
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(valueOperations, times(1)).get("events:onsale");
-    verify(eventRepository, times(1)).findOnSaleEventsOrderByShowDate(any(LocalDateTime.class));
-    verify(valueOperations, times(1)).set(eq("events:onsale"), anyList(), eq(15L), eq(TimeUnit.MINUTES));
+    verifyNoInteractions(eventRepository);
   }
 
   // ========== GET EVENTS BY CATEGORY TESTS ==========
 
+  @Test
+  void requireCategory_WhenCategoryNotFound_ThrowsException() {
+    // Arrange
+    when(categoryCatalog.getById(999L))
+        .thenThrow(new CategoryNotFoundException("Category not found with id: 999"));
+
+    // Act & Assert
+    assertThrows(CategoryNotFoundException.class, () -> eventService.requireCategory(999L));
+    verifyNoInteractions(eventCache);
+  }
+
   @Test
   void getEventsByCategory_WhenCategoryExists_ReturnsEvents() {
     // Arrange
-    when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-    when(eventRepository.findByCategory(testCategory)).thenReturn(Arrays.asList(testEvent));
+    when(eventCache.getEventsByCategory(1L)).thenReturn(Arrays.asList(testEventDTO));
 
     // Act
     List<EventDTO> result = eventService.getEventsByCategory(1L);
@@ -241,7 +207,8 @@ class EventServiceTest {
   @Test
   void getEventsByCategory_WhenCategoryNotFound_ThrowsException() {
     // Arrange
-    when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+    when(eventCache.getEventsByCategory(999L))
+        .thenThrow(new CategoryNotFoundException("Category not found with id: 999"));
 
     // Act & Assert
     CategoryNotFoundException exception = assertThrows(CategoryNotFoundException.class, () -> {
@@ -256,8 +223,7 @@ class EventServiceTest {
   @Test
   void getEventsByStatus_ReturnsFilteredEvents() {
     // Arrange
-    when(eventRepository.findByEventStatus(EventStatus.ON_SALE))
-        .thenReturn(Arrays.asList(testEvent));
+    when(eventCache.getEventsByStatus(EventStatus.ON_SALE)).thenReturn(Arrays.asList(testEventDTO));
 
     // Act
     List<EventDTO> result = eventService.getEventsByStatus(EventStatus.ON_SALE);
@@ -273,7 +239,8 @@ class EventServiceTest {
   @Test
   void createEvent_WhenValid_CreatesEventAndCaches() {
     // Arrange
-    when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+    when(categoryCatalog.getById(1L)).thenReturn(new EventDTO.CategoryDTO(testCategory));
+    when(categoryRepository.getReferenceById(1L)).thenReturn(testCategory);
     when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
 
     // Act
@@ -282,17 +249,19 @@ class EventServiceTest {
     // Assert
     assertNotNull(result);
     assertEquals("Test Concert", result.getName());
-    verify(categoryRepository, times(1)).findById(1L);
+    assertEquals("Concert", result.getCategory().getName());
+    verify(categoryCatalog, times(1)).getById(1L);
+    verify(categoryRepository, never()).findById(anyLong());
     verify(eventRepository, times(1)).save(any(Event.class));
-    verify(valueOperations, times(1)).set(eq("event:1"), any(EventDTO.class), eq(1L), eq(TimeUnit.HOURS));
-    verify(redisTemplate, times(1)).delete("events:all");
-    verify(redisTemplate, times(1)).delete("events:onsale");
+    verify(eventCache, times(1)).eventCreated(result);
+    verify(onSaleScheduler, times(1)).track(result);
   }
 
   @Test
   void createEvent_WhenCategoryNotFound_ThrowsException() {
     // Arrange
-    when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+    when(categoryCatalog.getById(999L))
+        .thenThrow(new CategoryNotFoundException("Category not found with id: 999"));
     createRequest.setCategoryId(999L);
 
     // Act & Assert
@@ -310,7 +279,7 @@ class EventServiceTest {
   void updateEvent_WhenValid_UpdatesEventAndCache() {
     // Arrange
     when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-    when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
+    when(eventRepository.saveAndFlush(any(Event.class))).thenReturn(testEvent);
 
     // Act
     EventDTO result = eventService.updateEvent(1L, updateRequest);
@@ -318,10 +287,10 @@ class EventServiceTest {
     // Assert
     assertNotNull(result);
     verify(eventRepository, times(1)).findById(1L);
-    verify(eventRepository, times(1)).save(any(Event.class));
-    verify(valueOperations, times(1)).set(eq("event:1"), any(EventDTO.class), eq(1L), eq(TimeUnit.HOURS));
-    verify(redisTemplate, times(1)).delete("events:all");
-    verify(redisTemplate, times(1)).delete("events:onsale");
+    verify(eventRepository, times(1)).saveAndFlush(any(Event.class));
+    verify(eventCache, times(1)).eventUpdated(argThat(before -> "Test Concert".equals(before.getName())),
+        eq(result));
+    verify(onSaleScheduler, times(1)).track(result);
   }
 
   @Test
@@ -335,7 +304,7 @@ class EventServiceTest {
     });
 
     assertTrue(exception.getMessage().contains("Event not found with id: 999"));
-    verify(eventRepository, never()).save(any(Event.class));
+    verify(eventRepository, never()).saveAndFlush(any(Event.class));
   }
 
   @Test
@@ -346,16 +315,18 @@ class EventServiceTest {
     updateRequest.setCategoryId(2L);
 
     when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-    when(categoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
-    when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
+    when(categoryCatalog.getById(2L)).thenReturn(new EventDTO.CategoryDTO(newCategory));
+    when(categoryRepository.getReferenceById(2L)).thenReturn(newCategory);
+    when(eventRepository.saveAndFlush(any(Event.class))).thenReturn(testEvent);
 
     // Act
     EventDTO result = eventService.updateEvent(1L, updateRequest);
 
     // Assert
     assertNotNull(result);
-    verify(categoryRepository, times(1)).findById(2L);
-    verify(eventRepository, times(1)).save(any(Event.class));
+    assertEquals("Sports", result.getCategory().getName());
+    verify(categoryCatalog, times(1)).getById(2L);
+    verify(eventRepository, times(1)).saveAndFlush(any(Event.class));
   }
 
   @Test
@@ -364,7 +335,8 @@ class EventServiceTest {
     updateRequest.setCategoryId(999L);
 
     when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-    when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+    when(categoryCatalog.getById(999L))
+        .thenThrow(new CategoryNotFoundException("Category not found with id: 999"));
 
     // Act & Assert
     CategoryNotFoundException exception = assertThrows(CategoryNotFoundException.class, () -> {
@@ -372,7 +344,7 @@ class EventServiceTest {
     });
 
     assertTrue(exception.getMessage().contains("Category not found with id: 999"));
-    verify(eventRepository, never()).save(any(Event.class));
+    verify(eventRepository, never()).saveAndFlush(any(Event.class));
   }
 
   // ========== DELETE EVENT TESTS ==========
@@ -380,23 +352,23 @@ class EventServiceTest {
   @Test
   void deleteEvent_WhenEventExists_DeletesEventAndEvictsCache() {
     // Arrange
-    when(eventRepository.existsById(1L)).thenReturn(true);
+    when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
 
     // Act
     eventService.deleteEvent(1L);
 
     // Assert
-    verify(eventRepository, times(1)).existsById(1L);
-    verify(eventRepository, times(1)).deleteById(1L);
-    verify(redisTemplate, times(1)).delete("event:1");
-    verify(redisTemplate, times(1)).delete("events:all");
-    verify(redisTemplate, times(1)).delete("events:onsale");
+    verify(eventRepository, times(1)).findById(1L);
+    verify(eventRepository, times(1)).delete(testEvent);
+    verify(eventCache, times(1)).eventDeleted(argThat(deleted -> deleted.getId().equals(1L)
+        && deleted.getCategory().getId().equals(1L)));
+    verify(onSaleScheduler, times(1)).untrack(1L);
   }
 
   @Test
   void deleteEvent_WhenEventNotFound_ThrowsException() {
     // Arrange
-    when(eventRepository.existsById(999L)).thenReturn(false);
+    when(eventRepository.findById(999L)).thenReturn(Optional.empty());
 
     // Act & Assert
     EventNotFoundException exception = assertThrows(EventNotFoundException.class, () -> {
@@ -404,6 +376,23 @@ class EventServiceTest {
     });
 
     assertTrue(exception.getMessage().contains("Event not found with id: 999"));
-    verify(eventRepository, never()).deleteById(anyLong());
+    verify(eventRepository, never()).delete(any(Event.class));
+    verify(eventCache, never()).eventDeleted(any());
+  }
+
+  // ========== SEARCH TESTS ==========
+
+  @Test
+  void searchEvents_ResolvesRankedIdsThroughCache() {
+    // Arrange
+    when(eventSearchIndex.search("concert", 10)).thenReturn(List.of(1L));
+    when(eventCache.getEvents(List.of(1L))).thenReturn(List.of(testEventDTO));
+
+    // Act
+    List<EventDTO> result = eventService.searchEvents("concert", 10);
+
+    // Assert
+    assertEquals(List.of(testEventDTO), result);
+    verifyNoInteractions(eventRepository);
   }
 }
@@ -1,9 +1,12 @@
 package dev.peemtanapat.thaiticketmaster.event_api.event;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.CacheMetrics;
+import dev.peemtanapat.thaiticketmaster.event_api.cache.ResponseBodyCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -20,6 +23,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EventController.class)
+@Import(ResponseBodyCache.class)
 class GlobalExceptionHandlerTest {
 
   @Autowired
@@ -31,6 +35,15 @@ class GlobalExceptionHandlerTest {
   @MockitoBean
   private EventService eventService;
 
+  @MockitoBean
+  private EventViewCounter eventViewCounter;
+
+  @MockitoBean
+  private CacheMetrics cacheMetrics;
+
+  @MockitoBean
+  private EventImporter eventImporter;
+
   // ========== EVENT NOT FOUND EXCEPTION TESTS ==========
 
   @Test
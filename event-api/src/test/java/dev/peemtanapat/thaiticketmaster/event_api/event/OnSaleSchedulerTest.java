@@ -0,0 +1,140 @@
+package dev.peemtanapat.thaiticketmaster.event_api.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OnSaleSchedulerTest {
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private EventCache eventCache;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private OnSaleScheduler onSaleScheduler;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(transactionTemplate.execute(any()))
+        .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+    onSaleScheduler = new OnSaleScheduler(eventRepository, eventCache, transactionTemplate, true,
+        Duration.ofHours(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    onSaleScheduler.shutdown();
+  }
+
+  // ========== TRANSITION TESTS ==========
+
+  @Test
+  void openSale_WhenDue_MovesEventIntoOnSaleIndexes() {
+    // Arrange
+    when(eventRepository.openSale(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+    when(eventRepository.findById(1L))
+        .thenReturn(Optional.of(createEvent(1L, EventStatus.ON_SALE, LocalDateTime.now())));
+
+    // Act
+    boolean result = onSaleScheduler.openSale(1L);
+
+    // Assert
+    assertTrue(result);
+    verify(eventCache).eventUpdated(
+        argThat(before -> before.getEventStatus() == EventStatus.COMING_SOON && before.getId().equals(1L)),
+        argThat(after -> after.getEventStatus() == EventStatus.ON_SALE));
+  }
+
+  @Test
+  void openSale_WhenAlreadyOpened_DoesNotTouchCache() {
+    // Arrange
+    when(eventRepository.openSale(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+    // Act
+    boolean result = onSaleScheduler.openSale(1L);
+
+    // Assert
+    assertFalse(result);
+    verify(eventRepository, never()).findById(anyLong());
+    verifyNoInteractions(eventCache);
+  }
+
+  // ========== QUEUE TESTS ==========
+
+  @Test
+  void reload_WhenTransitionOverdue_FiresRightAway() {
+    // Arrange
+    when(eventRepository.findByEventStatusAndOnSaleDateTimeBefore(eq(EventStatus.COMING_SOON), any()))
+        .thenReturn(List.of(createEvent(1L, EventStatus.COMING_SOON, LocalDateTime.now().minusMinutes(1))));
+
+    // Act
+    onSaleScheduler.reload();
+
+    // Assert
+    verify(eventRepository, timeout(1000)).openSale(eq(1L), any(LocalDateTime.class));
+  }
+
+  @Test
+  void track_WhenEventLeavesComingSoon_DropsTransition() {
+    // Arrange
+    EventDTO comingSoon = new EventDTO(createEvent(1L, EventStatus.COMING_SOON, LocalDateTime.now().plusMinutes(30)));
+    onSaleScheduler.track(comingSoon);
+    assertEquals(1, onSaleScheduler.pendingCount());
+
+    // Act
+    comingSoon.setEventStatus(EventStatus.CANCELLED);
+    onSaleScheduler.track(comingSoon);
+
+    // Assert
+    assertEquals(0, onSaleScheduler.pendingCount());
+  }
+
+  @Test
+  void track_WhenBeyondHorizon_LeavesItToReload() {
+    // Act
+    onSaleScheduler.track(new EventDTO(createEvent(1L, EventStatus.COMING_SOON, LocalDateTime.now().plusDays(1))));
+
+    // Assert
+    assertEquals(0, onSaleScheduler.pendingCount());
+  }
+
+  private static Event createEvent(Long id, EventStatus status, LocalDateTime onSaleDateTime) {
+    Category category = new Category("Concert", "Music concerts");
+    category.setId(1L);
+    Event event = new Event(
+        "Test Concert",
+        category,
+        List.of(OffsetDateTime.now().plusDays(30)),
+        "Test Venue",
+        onSaleDateTime,
+        new BigDecimal("1500.00"),
+        "Test event details",
+        "Test conditions",
+        status,
+        "1 hour before");
+    event.setId(id);
+    return event;
+  }
+}
@@ -0,0 +1,120 @@
+package dev.peemtanapat.thaiticketmaster.event_api.health;
+
+import dev.peemtanapat.thaiticketmaster.event_api.event.CategoryCatalog;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventCache;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventDTO;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventIdFilter;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventSearchIndex;
+import dev.peemtanapat.thaiticketmaster.event_api.event.EventViewCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+  @Mock
+  private CategoryCatalog categoryCatalog;
+
+  @Mock
+  private EventIdFilter eventIdFilter;
+
+  @Mock
+  private EventSearchIndex eventSearchIndex;
+
+  @Mock
+  private EventCache eventCache;
+
+  @Mock
+  private EventViewCounter eventViewCounter;
+
+  private CacheWarmer cacheWarmer;
+
+  @BeforeEach
+  void setUp() {
+    cacheWarmer = new CacheWarmer(categoryCatalog, eventIdFilter, eventSearchIndex, eventCache, eventViewCounter,
+        true, 10, 1);
+  }
+
+  // ========== WARM-UP TESTS ==========
+
+  @Test
+  void warmCaches_LoadsCatalogOnSaleAndMostViewedEvents() {
+    // Arrange
+    when(eventCache.getOnSaleEvents()).thenReturn(List.of(event(1L), event(2L)));
+    when(eventViewCounter.topViewed(10)).thenReturn(List.of(2L, 3L));
+    when(eventCache.getEvents(List.of(2L, 3L))).thenReturn(List.of(event(2L), event(3L)));
+
+    // Act
+    List<Long> result = cacheWarmer.warmCaches();
+
+    // Assert
+    assertEquals(List.of(1L, 2L, 3L), result);
+    verify(categoryCatalog).getAll();
+    verify(eventIdFilter).load();
+    verify(eventSearchIndex).load();
+  }
+
+  @Test
+  void warmCaches_WhenLoadFails_KeepsWhatWasWarmed() {
+    // Arrange
+    when(eventCache.getOnSaleEvents()).thenReturn(List.of(event(1L)));
+    when(eventViewCounter.topViewed(10)).thenThrow(new RuntimeException("Redis down"));
+
+    // Act
+    List<Long> result = cacheWarmer.warmCaches();
+
+    // Assert
+    assertEquals(List.of(1L), result);
+  }
+
+  @Test
+  void onApplicationReady_HoldsReadinessUntilWarmedUp() {
+    // Arrange
+    ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+    ApplicationReadyEvent event = mock(ApplicationReadyEvent.class);
+    when(event.getApplicationContext()).thenReturn(context);
+
+    // Act
+    cacheWarmer.onApplicationReady(event);
+
+    // Assert
+    ArgumentCaptor<ApplicationEvent> published = ArgumentCaptor.forClass(ApplicationEvent.class);
+    verify(context).publishEvent(published.capture());
+    assertEquals(ReadinessState.REFUSING_TRAFFIC, ((AvailabilityChangeEvent<?>) published.getValue()).getState());
+    verify(eventCache).getOnSaleEvents();
+  }
+
+  @Test
+  void onApplicationReady_WhenDisabled_DoesNothing() {
+    // Arrange
+    cacheWarmer = new CacheWarmer(categoryCatalog, eventIdFilter, eventSearchIndex, eventCache, eventViewCounter,
+        false, 10, 1);
+
+    // Act
+    cacheWarmer.onApplicationReady(mock(ApplicationReadyEvent.class));
+
+    // Assert
+    verifyNoInteractions(categoryCatalog, eventIdFilter, eventSearchIndex, eventCache, eventViewCounter);
+  }
+
+  private static EventDTO event(Long id) {
+    EventDTO eventDTO = new EventDTO();
+    eventDTO.setId(id);
+    return eventDTO;
+  }
+}